@@ -9,4 +9,4 @@ if not exist "%JAR%" (
 )
 
 echo Abrindo interface grafica...
-java -jar "%JAR%" --gui
+java --add-modules jdk.incubator.vector -jar "%JAR%" --gui
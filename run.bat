@@ -31,8 +31,8 @@ if "%~1"=="" (
     set ARGS=%*
 )
 
-echo Executando: java -jar "%JAR%" %ARGS%
-java -jar "%JAR%" %ARGS%
+echo Executando: java --add-modules jdk.incubator.vector -jar "%JAR%" %ARGS%
+java --add-modules jdk.incubator.vector -jar "%JAR%" %ARGS%
 
 echo.
 pause
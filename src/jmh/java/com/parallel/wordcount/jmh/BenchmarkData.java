@@ -0,0 +1,48 @@
+package com.parallel.wordcount.jmh;
+
+import java.util.Locale;
+import java.util.SplittableRandom;
+
+/**
+ * Deterministic synthetic datasets for the JMH benchmarks, so every fork and every machine measures the same text.
+ */
+final class BenchmarkData {
+
+    private static final long SEED = 0x5EED_C0DEL;
+
+    private BenchmarkData() {
+    }
+
+    /**
+     * Lowercase target word of {@code length} letters that does not occur by chance often.
+     */
+    static String targetWord(int length) {
+        StringBuilder word = new StringBuilder(length);
+        for (int i = 0; i < length; i++) {
+            word.append((char) ('q' + i % 9));
+        }
+        return word.toString();
+    }
+
+    /**
+     * Text of exactly {@code chars} characters: random words of 2 to 10 letters, with {@code target} inserted
+     * (sometimes capitalized) roughly once every 200 words.
+     */
+    static String text(int chars, String target) {
+        SplittableRandom random = new SplittableRandom(SEED ^ chars);
+        StringBuilder text = new StringBuilder(chars + 32);
+        while (text.length() < chars) {
+            if (random.nextInt(200) == 0) {
+                text.append(random.nextBoolean() ? target : target.toUpperCase(Locale.ROOT));
+            } else {
+                int length = 2 + random.nextInt(9);
+                for (int i = 0; i < length; i++) {
+                    text.append((char) ('a' + random.nextInt(26)));
+                }
+            }
+            text.append(random.nextInt(12) == 0 ? ".\n" : " ");
+        }
+        text.setLength(chars);
+        return text.toString();
+    }
+}
@@ -0,0 +1,75 @@
+package com.parallel.wordcount.jmh;
+
+import com.parallel.wordcount.ParallelCpuCounter;
+import com.parallel.wordcount.SerialCpuCounter;
+import com.parallel.wordcount.WordCountResult;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Serial and thread-pool CPU counters over synthetic datasets of several sizes and target word lengths.
+ * Results are returned from the benchmark methods, so JMH sinks them into its blackhole.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 10, time = 1)
+@Fork(2)
+@State(Scope.Benchmark)
+public class CpuCounterBenchmark {
+
+    @Param({"65536", "1048576", "16777216"})
+    public int datasetChars;
+
+    @Param({"3", "8", "16"})
+    public int wordLength;
+
+    private String text;
+    private String word;
+    private final SerialCpuCounter serial = new SerialCpuCounter();
+
+    @Setup(Level.Trial)
+    public void createDataset() {
+        word = BenchmarkData.targetWord(wordLength);
+        text = BenchmarkData.text(datasetChars, word);
+    }
+
+    @Benchmark
+    public WordCountResult serial() {
+        return serial.count("jmh", text, word);
+    }
+
+    @Benchmark
+    public WordCountResult parallel(ThreadCount threads) throws Exception {
+        return threads.counter.count("jmh", text, word);
+    }
+
+    /**
+     * Thread counts for {@link ParallelCpuCounter}; only benchmarks that take this state are multiplied by it.
+     */
+    @State(Scope.Benchmark)
+    public static class ThreadCount {
+
+        @Param({"2", "4", "8"})
+        public int threads;
+
+        ParallelCpuCounter counter;
+
+        @Setup(Level.Trial)
+        public void createCounter() {
+            counter = new ParallelCpuCounter(threads);
+        }
+    }
+}
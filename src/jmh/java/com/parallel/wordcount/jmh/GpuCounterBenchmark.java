@@ -0,0 +1,152 @@
+package com.parallel.wordcount.jmh;
+
+import com.parallel.wordcount.AsyncGpuQueries;
+import com.parallel.wordcount.GpuMultiWordCounter;
+import com.parallel.wordcount.MultiDeviceGpuCounter;
+import com.parallel.wordcount.MultiWordCountResult;
+import com.parallel.wordcount.ParallelGpuCounter;
+import com.parallel.wordcount.ParallelGpuOptimizedCachedCounter;
+import com.parallel.wordcount.ParallelGpuOptimizedCounter;
+import com.parallel.wordcount.StreamingGpuCounter;
+import com.parallel.wordcount.TiledGpuCounter;
+import com.parallel.wordcount.WordCountResult;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * OpenCL counters pinned to a CPU OpenCL device (see {@code wordcount.opencl.device}), so runs are comparable
+ * on machines without a GPU. The first call in each fork builds the program and is absorbed by warmup.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 10, time = 1)
+@Fork(value = 2, jvmArgsAppend = "-Dwordcount.opencl.device=cpu")
+@State(Scope.Benchmark)
+public class GpuCounterBenchmark {
+
+    @Param({"65536", "1048576", "16777216"})
+    public int datasetChars;
+
+    @Param({"3", "8", "16"})
+    public int wordLength;
+
+    private String text;
+    private String word;
+    private List<String> words;
+    private final ParallelGpuCounter gpu = new ParallelGpuCounter();
+    private final ParallelGpuOptimizedCounter gpuOpt = new ParallelGpuOptimizedCounter();
+    private final ParallelGpuOptimizedCachedCounter gpuOptCached = new ParallelGpuOptimizedCachedCounter();
+    // 4 MiB chunks so the largest dataset actually streams through both slots.
+    private final StreamingGpuCounter gpuStream = new StreamingGpuCounter(4 * 1024 * 1024);
+    private final GpuMultiWordCounter gpuMulti = new GpuMultiWordCounter();
+    private final TiledGpuCounter gpuTiled = new TiledGpuCounter(TiledGpuCounter.Variant.TILED);
+    private final TiledGpuCounter gpuVec16 = new TiledGpuCounter(TiledGpuCounter.Variant.VECTOR);
+    // Splits across every device; run with -Dwordcount.opencl.sub-devices=<n> to get several on one CPU runtime.
+    private final MultiDeviceGpuCounter gpuMultiDevice = new MultiDeviceGpuCounter();
+
+    @Setup(Level.Trial)
+    public void createDataset() {
+        word = BenchmarkData.targetWord(wordLength);
+        text = BenchmarkData.text(datasetChars, word);
+        // The target plus 63 variants sharing its prefix: one batch the size of a typical dashboard query.
+        words = new ArrayList<>();
+        words.add(word);
+        for (int i = 1; i < 64; i++) {
+            words.add(word + i);
+        }
+    }
+
+    @Benchmark
+    public WordCountResult gpu() {
+        return gpu.count("jmh", text, word);
+    }
+
+    @Benchmark
+    public WordCountResult gpuOptimized() {
+        return gpuOpt.count("jmh", text, word);
+    }
+
+    @Benchmark
+    public WordCountResult gpuOptimizedCached() {
+        return gpuOptCached.count("jmh-" + datasetChars, text, word);
+    }
+
+    @Benchmark
+    public WordCountResult gpuStreaming() {
+        return gpuStream.count("jmh", text, word);
+    }
+
+    @Benchmark
+    public WordCountResult gpuTiled() {
+        return gpuTiled.count("jmh", text, word);
+    }
+
+    @Benchmark
+    public WordCountResult gpuVec16() {
+        return gpuVec16.count("jmh", text, word);
+    }
+
+    @Benchmark
+    public WordCountResult gpuMultiDevice() throws Exception {
+        return gpuMultiDevice.count("jmh", text, word);
+    }
+
+    @Benchmark
+    public MultiWordCountResult gpuMultiWord() {
+        return gpuMulti.count("jmh", text, words);
+    }
+
+    /**
+     * The 64 words of {@link #gpuMultiWord} as separate queries kept in flight together; reported per query.
+     */
+    @Benchmark
+    @OperationsPerInvocation(64)
+    public long gpuAsyncQueries(AsyncSession session) {
+        List<CompletableFuture<WordCountResult>> futures = new ArrayList<>(words.size());
+        for (String query : words) {
+            futures.add(session.queries.countAsync(query));
+        }
+        long total = 0;
+        for (CompletableFuture<WordCountResult> future : futures) {
+            total += future.join().occurrences();
+        }
+        return total;
+    }
+
+    /**
+     * Resident text for {@link #gpuAsyncQueries}; only that benchmark uploads and pins it.
+     */
+    @State(Scope.Benchmark)
+    public static class AsyncSession {
+
+        AsyncGpuQueries queries;
+
+        @Setup(Level.Trial)
+        public void open(GpuCounterBenchmark benchmark) {
+            queries = benchmark.gpuOptCached.openAsync("jmh-async-" + benchmark.datasetChars, benchmark.text);
+        }
+
+        @TearDown(Level.Trial)
+        public void close() {
+            queries.close();
+        }
+    }
+}
@@ -0,0 +1,185 @@
+package com.parallel.wordcount;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Aho-Corasick automaton compiled into flat primitive arrays: a dense transition table over the
+ * alphabet of the patterns (every other char maps to class 0), plus per-state pattern ids and
+ * dictionary-suffix links. Immutable once built and safe to share between threads.
+ *
+ * <p>Patterns are expected in lowercase; the scan folds text chars with {@link CaseFolding#fold(char)}.
+ */
+public final class AhoCorasickAutomaton {
+
+    private final List<String> patterns;
+    private final int[] patternLengths;
+    private final int maxPatternLength;
+    private final char[] charClass;
+    private final int alphabetSize;
+    private final int[] delta;
+    private final int[] patternAt;
+    private final int[] outputLink;
+
+    private AhoCorasickAutomaton(List<String> patterns, char[] charClass, int alphabetSize,
+                                 int[] delta, int[] patternAt, int[] outputLink) {
+        this.patterns = patterns;
+        this.patternLengths = patterns.stream().mapToInt(String::length).toArray();
+        this.maxPatternLength = Arrays.stream(patternLengths).max().orElse(0);
+        this.charClass = charClass;
+        this.alphabetSize = alphabetSize;
+        this.delta = delta;
+        this.patternAt = patternAt;
+        this.outputLink = outputLink;
+    }
+
+    /**
+     * Builds the automaton for the distinct, non-empty patterns in the given order.
+     */
+    public static AhoCorasickAutomaton build(List<String> rawPatterns) {
+        Map<String, Boolean> unique = new LinkedHashMap<>();
+        for (String p : rawPatterns) {
+            if (p == null || p.isEmpty()) {
+                throw new IllegalArgumentException("Patterns must not be empty");
+            }
+            unique.put(p, Boolean.TRUE);
+        }
+        List<String> patterns = List.copyOf(unique.keySet());
+
+        char[] charClass = new char[Character.MAX_VALUE + 1];
+        int alphabetSize = 1;
+        for (String p : patterns) {
+            for (int i = 0; i < p.length(); i++) {
+                char c = p.charAt(i);
+                if (charClass[c] == 0) {
+                    charClass[c] = (char) alphabetSize++;
+                }
+            }
+        }
+
+        // Trie in a growable dense table; -1 marks a missing edge until the BFS below fills it.
+        int capacity = 1 + patterns.stream().mapToInt(String::length).sum();
+        int[] delta = new int[capacity * alphabetSize];
+        Arrays.fill(delta, -1);
+        int[] patternAt = new int[capacity];
+        Arrays.fill(patternAt, -1);
+        int states = 1;
+        for (int id = 0; id < patterns.size(); id++) {
+            String p = patterns.get(id);
+            int state = 0;
+            for (int i = 0; i < p.length(); i++) {
+                int edge = state * alphabetSize + charClass[p.charAt(i)];
+                if (delta[edge] == -1) {
+                    delta[edge] = states++;
+                }
+                state = delta[edge];
+            }
+            patternAt[state] = id;
+        }
+
+        int[] fail = new int[states];
+        int[] outputLink = new int[states];
+        int[] queue = new int[states];
+        int head = 0;
+        int tail = 0;
+        for (int a = 0; a < alphabetSize; a++) {
+            int next = delta[a];
+            if (next == -1) {
+                delta[a] = 0;
+            } else {
+                fail[next] = 0;
+                queue[tail++] = next;
+            }
+        }
+        while (head < tail) {
+            int state = queue[head++];
+            int f = fail[state];
+            outputLink[state] = patternAt[f] >= 0 ? f : outputLink[f];
+            for (int a = 0; a < alphabetSize; a++) {
+                int edge = state * alphabetSize + a;
+                int next = delta[edge];
+                if (next == -1) {
+                    delta[edge] = delta[f * alphabetSize + a];
+                } else {
+                    fail[next] = delta[f * alphabetSize + a];
+                    queue[tail++] = next;
+                }
+            }
+        }
+
+        return new AhoCorasickAutomaton(patterns,
+                charClass,
+                alphabetSize,
+                Arrays.copyOf(delta, states * alphabetSize),
+                Arrays.copyOf(patternAt, states),
+                outputLink);
+    }
+
+    public List<String> patterns() {
+        return patterns;
+    }
+
+    public int patternCount() {
+        return patterns.size();
+    }
+
+    public int maxPatternLength() {
+        return maxPatternLength;
+    }
+
+    public int stateCount() {
+        return patternAt.length;
+    }
+
+    /**
+     * Counts, per pattern, the non-overlapping matches that start in {@code [startIdx, boundary)},
+     * reading up to {@code maxPatternLength() - 1} chars past the boundary. Per pattern the result
+     * equals the repeated {@code indexOf} scan of {@link SerialCpuCounter}.
+     */
+    public long[] count(String text, int startIdx, int boundary) {
+        long[] counts = new long[patterns.size()];
+        int[] nextAllowed = new int[patterns.size()];
+        Arrays.fill(nextAllowed, startIdx);
+        int scanEnd = (int) Math.min(text.length(), (long) boundary + maxPatternLength - 1);
+        int state = 0;
+        for (int i = startIdx; i < scanEnd; i++) {
+            state = delta[state * alphabetSize + charClass[CaseFolding.fold(text.charAt(i))]];
+            int s = patternAt[state] >= 0 ? state : outputLink[state];
+            while (s > 0) {
+                int id = patternAt[s];
+                int start = i - patternLengths[id] + 1;
+                if (start < boundary && start >= nextAllowed[id]) {
+                    counts[id]++;
+                    nextAllowed[id] = i + 1;
+                }
+                s = outputLink[s];
+            }
+        }
+        return counts;
+    }
+
+    /**
+     * Convenience for building result maps keyed by pattern in insertion order.
+     */
+    public Map<String, Long> toMap(long[] counts) {
+        Map<String, Long> map = new LinkedHashMap<>();
+        for (int i = 0; i < counts.length; i++) {
+            map.put(patterns.get(i), counts[i]);
+        }
+        return map;
+    }
+
+    static List<String> normalize(List<String> words) {
+        List<String> normalized = new ArrayList<>(words.size());
+        for (String w : words) {
+            if (w != null && !w.isBlank()) {
+                normalized.add(w.toLowerCase(Locale.ROOT));
+            }
+        }
+        return normalized;
+    }
+}
@@ -0,0 +1,73 @@
+package com.parallel.wordcount;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+/**
+ * Counts many words in one pass with an {@link AhoCorasickAutomaton}. With more than one thread the
+ * text is split with {@link ParallelCpuCounter#chunkBounds(int, int)} and every chunk scans
+ * {@code longest pattern - 1} chars past its boundary, so matches across seams are counted exactly once.
+ */
+public class AhoCorasickCounter implements MultiWordCounter {
+
+    private final int threadCount;
+
+    public AhoCorasickCounter() {
+        this(1);
+    }
+
+    public AhoCorasickCounter(int threadCount) {
+        this.threadCount = Math.max(1, threadCount);
+    }
+
+    @Override
+    public String name() {
+        return threadCount == 1 ? "AhoCorasickCPU" : "AhoCorasickParallelCPU";
+    }
+
+    @Override
+    public MultiWordCountResult count(String datasetName, String text, List<String> targetWords) throws ExecutionException, InterruptedException {
+        List<String> words = AhoCorasickAutomaton.normalize(targetWords);
+        if (words.isEmpty()) {
+            throw new IllegalArgumentException("Target words must not be empty");
+        }
+        long start = System.nanoTime();
+        AhoCorasickAutomaton automaton = AhoCorasickAutomaton.build(words);
+        // Same fallback as the folding counters: non-ASCII patterns need exact toLowerCase semantics.
+        boolean ascii = words.stream().allMatch(CaseFolding::isAscii);
+        String scanned = ascii ? text : text.toLowerCase(Locale.ROOT);
+        long[] counts = threadCount == 1
+                ? automaton.count(scanned, 0, scanned.length())
+                : countParallel(automaton, scanned);
+        long elapsed = System.nanoTime() - start;
+        return new MultiWordCountResult(name(), datasetName, automaton.toMap(counts), elapsed, threadCount, "CPU");
+    }
+
+    private long[] countParallel(AhoCorasickAutomaton automaton, String text) throws ExecutionException, InterruptedException {
+        ExecutorService executor = Executors.newFixedThreadPool(threadCount);
+        try {
+            List<Future<long[]>> futures = new ArrayList<>();
+            int[] bounds = ParallelCpuCounter.chunkBounds(text.length(), threadCount);
+            for (int i = 0; i + 1 < bounds.length; i++) {
+                int startIdx = bounds[i];
+                int boundary = bounds[i + 1];
+                futures.add(executor.submit(() -> automaton.count(text, startIdx, boundary)));
+            }
+            long[] total = new long[automaton.patternCount()];
+            for (Future<long[]> future : futures) {
+                long[] partial = future.get();
+                for (int p = 0; p < total.length; p++) {
+                    total[p] += partial[p];
+                }
+            }
+            return total;
+        } finally {
+            executor.shutdown();
+        }
+    }
+}
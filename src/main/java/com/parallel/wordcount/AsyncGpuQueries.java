@@ -0,0 +1,228 @@
+package com.parallel.wordcount;
+
+import org.jocl.Pointer;
+import org.jocl.Sizeof;
+import org.jocl.cl_command_queue;
+import org.jocl.cl_context;
+import org.jocl.cl_event;
+import org.jocl.cl_kernel;
+import org.jocl.cl_mem;
+
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.charset.StandardCharsets;
+import java.util.Locale;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.jocl.CL.*;
+
+/**
+ * Non-blocking queries against one text kept resident by {@link ParallelGpuOptimizedCachedCounter}.
+ *
+ * <p>Every query borrows a {@link Slot} (device word and counter buffers plus direct host buffers, reused across
+ * queries) and enqueues word upload, counter reset, kernel and counter read without waiting on any of them. The
+ * read completes the future from an OpenCL event callback, so up to {@link #DEFAULT_IN_FLIGHT} queries overlap on
+ * the in-order queue and the host never idles in {@code clFinish}. When every slot is busy, {@link #countAsync}
+ * waits for one to return, which bounds the work queued on the device.
+ *
+ * <p>The session holds a lease on the resident text; {@link #close()} does not wait and the lease is released once
+ * the last query in flight completes.
+ */
+public final class AsyncGpuQueries implements AutoCloseable {
+
+    static final int DEFAULT_IN_FLIGHT = 8;
+    private static final ByteBuffer ZERO = ByteBuffer.allocateDirect(Sizeof.cl_int).order(ByteOrder.nativeOrder());
+
+    private final String counterName;
+    private final String datasetName;
+    private final OpenClSupport.Device device;
+    private final cl_command_queue queue;
+    private final cl_kernel kernel;
+    private final GpuTextCache.Lease text;
+    private final BlockingQueue<Slot> slots;
+    private final String details;
+    private final AtomicInteger inFlight = new AtomicInteger();
+    private final AtomicBoolean closed = new AtomicBoolean();
+    private final AtomicBoolean released = new AtomicBoolean();
+
+    AsyncGpuQueries(String counterName, String datasetName, OpenClSupport.Device device, cl_command_queue queue,
+                    cl_kernel kernel, GpuTextCache.Lease text, BlockingQueue<Slot> slots) {
+        this.counterName = counterName;
+        this.datasetName = datasetName;
+        this.device = device;
+        this.queue = queue;
+        this.kernel = kernel;
+        this.text = text;
+        this.slots = slots;
+        this.details = "async in_flight_max=" + DEFAULT_IN_FLIGHT + " text_cache=" + (text.hit() ? "hit" : "miss");
+    }
+
+    /**
+     * Pool of {@code size} reusable slots on {@code context}, shared by every session on that device.
+     */
+    static BlockingQueue<Slot> newSlots(cl_context context, int size) {
+        BlockingQueue<Slot> slots = new ArrayBlockingQueue<>(size);
+        for (int i = 0; i < size; i++) {
+            slots.add(new Slot(context));
+        }
+        return slots;
+    }
+
+    public boolean hit() {
+        return text.hit();
+    }
+
+    /**
+     * Count of {@code targetWord} in the resident text. The future completes on a pool thread, never on the OpenCL
+     * driver thread, so dependent stages may block.
+     */
+    public CompletableFuture<WordCountResult> countAsync(String targetWord) {
+        if (targetWord.isBlank()) {
+            throw new IllegalArgumentException("Target word must not be blank");
+        }
+        // Counted before the closed check, so close() cannot release the text while this query still uses it.
+        inFlight.incrementAndGet();
+        if (closed.get()) {
+            finishOne();
+            throw new IllegalStateException("Async GPU session already closed");
+        }
+        byte[] wordBytes = targetWord.toLowerCase(Locale.ROOT).getBytes(StandardCharsets.UTF_8);
+        if (wordBytes.length > text.length()) {
+            finishOne();
+            return CompletableFuture.completedFuture(
+                    new WordCountResult(counterName, datasetName, 0, 0, null, device.label(), details, null));
+        }
+        Slot slot;
+        try {
+            slot = slots.take();
+        } catch (InterruptedException e) {
+            finishOne();
+            Thread.currentThread().interrupt();
+            return CompletableFuture.failedFuture(e);
+        }
+        CompletableFuture<WordCountResult> future = new CompletableFuture<>();
+        long start = System.nanoTime();
+        cl_event kernelRun = new cl_event();
+        cl_event readback = new cl_event();
+        boolean kernelEnqueued = false;
+        boolean readbackEnqueued = false;
+        try {
+            slot.stage(wordBytes);
+            // Arguments and launch under one lock: the kernel object is shared by every session and thread.
+            synchronized (kernel) {
+                clEnqueueWriteBuffer(queue, slot.wordMem, CL_FALSE, 0, wordBytes.length, Pointer.to(slot.word),
+                        0, null, null);
+                clEnqueueWriteBuffer(queue, slot.countMem, CL_FALSE, 0, Sizeof.cl_int, Pointer.to(ZERO), 0, null, null);
+                clSetKernelArg(kernel, 0, Sizeof.cl_mem, Pointer.to(text.mem()));
+                clSetKernelArg(kernel, 1, Sizeof.cl_int, Pointer.to(new int[]{text.length()}));
+                clSetKernelArg(kernel, 2, Sizeof.cl_mem, Pointer.to(slot.wordMem));
+                clSetKernelArg(kernel, 3, Sizeof.cl_int, Pointer.to(new int[]{wordBytes.length}));
+                clSetKernelArg(kernel, 4, Sizeof.cl_mem, Pointer.to(slot.countMem));
+                clSetKernelArg(kernel, 5, ParallelGpuOptimizedCounter.LOCAL_SIZE * Sizeof.cl_int, null);
+                long[] globalWorkSize = new long[]{ParallelGpuOptimizedCounter.roundUp(
+                        ParallelGpuOptimizedCounter.LOCAL_SIZE, text.length())};
+                clEnqueueNDRangeKernel(queue, kernel, 1, null, globalWorkSize,
+                        new long[]{ParallelGpuOptimizedCounter.LOCAL_SIZE}, 0, null, kernelRun);
+                kernelEnqueued = true;
+                clEnqueueReadBuffer(queue, slot.countMem, CL_FALSE, 0, Sizeof.cl_int, Pointer.to(slot.result),
+                        0, null, readback);
+                readbackEnqueued = true;
+            }
+            clFlush(queue);
+            clSetEventCallback(readback, CL_COMPLETE, (event, status, userData) -> {
+                try {
+                    if (status != CL_COMPLETE) {
+                        future.completeExceptionally(new IllegalStateException("OpenCL query failed with status " + status));
+                        clReleaseEvent(kernelRun);
+                        clReleaseEvent(readback);
+                        return;
+                    }
+                    long elapsed = System.nanoTime() - start;
+                    int occurrences = slot.result.getInt(0);
+                    GpuPhases phases = new GpuPhases(0, 0, 0,
+                            OpenClSupport.profiledNanos(kernelRun), OpenClSupport.profiledNanos(readback));
+                    WordCountResult result = new WordCountResult(counterName, datasetName, occurrences, elapsed,
+                            null, device.label(), details, phases);
+                    future.completeAsync(() -> result);
+                } catch (RuntimeException e) {
+                    future.completeExceptionally(e);
+                } finally {
+                    slots.add(slot);
+                    finishOne();
+                }
+            }, null);
+        } catch (RuntimeException e) {
+            // Whatever was enqueued before the failure must finish before the slot is lent again.
+            clFinish(queue);
+            if (kernelEnqueued) {
+                clReleaseEvent(kernelRun);
+            }
+            if (readbackEnqueued) {
+                clReleaseEvent(readback);
+            }
+            slots.add(slot);
+            finishOne();
+            future.completeExceptionally(e);
+        }
+        return future;
+    }
+
+    /**
+     * Stops accepting queries; the text lease is released when the queries still in flight complete.
+     */
+    @Override
+    public void close() {
+        if (closed.compareAndSet(false, true) && inFlight.get() == 0) {
+            releaseText();
+        }
+    }
+
+    private void finishOne() {
+        if (inFlight.decrementAndGet() == 0 && closed.get()) {
+            releaseText();
+        }
+    }
+
+    private void releaseText() {
+        if (released.compareAndSet(false, true)) {
+            text.close();
+        }
+    }
+
+    /**
+     * Buffers of one query in flight. The word buffer grows to the longest word seen and is kept afterwards.
+     */
+    static final class Slot {
+
+        private final cl_context context;
+        private final cl_mem countMem;
+        private final ByteBuffer result = ByteBuffer.allocateDirect(Sizeof.cl_int).order(ByteOrder.nativeOrder());
+        private cl_mem wordMem;
+        private ByteBuffer word;
+
+        private Slot(cl_context context) {
+            this.context = context;
+            this.countMem = clCreateBuffer(context, CL_MEM_READ_WRITE, Sizeof.cl_int, null, null);
+            allocateWord(64);
+        }
+
+        private void stage(byte[] wordBytes) {
+            if (wordBytes.length > word.capacity()) {
+                clReleaseMemObject(wordMem);
+                allocateWord(Integer.highestOneBit(wordBytes.length) << 1);
+            }
+            word.clear();
+            word.put(wordBytes);
+            word.flip();
+        }
+
+        private void allocateWord(int capacity) {
+            wordMem = clCreateBuffer(context, CL_MEM_READ_ONLY, capacity, null, null);
+            word = ByteBuffer.allocateDirect(capacity);
+        }
+    }
+}
@@ -0,0 +1,306 @@
+package com.parallel.wordcount;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.EnumMap;
+import java.util.LinkedHashMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Properties;
+import java.util.SplittableRandom;
+
+/**
+ * Counter that dispatches every call to the strategy measured fastest for inputs of that shape on this machine.
+ *
+ * <p>Calibration times each available strategy (serial, thread pool, Vector API single and multi-core, OpenCL)
+ * on synthetic texts for a grid of text sizes and target word lengths, keeping the median of a few samples
+ * after warmup. The grid is saved as a properties file together with a machine signature (cores, vector width,
+ * OpenCL device), and reused while the signature matches. A call picks the grid cell nearest to its text size
+ * (in log scale) and word length; the chosen strategy and the reason are reported in {@code details}.
+ *
+ * <p>The OpenCL kernels count overlapping matches, so words that overlap themselves (e.g. "aa") are never sent
+ * to OpenCL: the fastest CPU strategy of the cell is used instead, keeping results identical to
+ * {@link SerialCpuCounter}.
+ */
+public class AutoCounter implements WordCounter {
+
+    public enum Strategy {
+        SERIAL, PARALLEL, SIMD, SIMD_PARALLEL, OPENCL
+    }
+
+    static final int[] SIZE_GRID = {16 * 1024, 256 * 1024, 4 * 1024 * 1024};
+    static final int[] WORD_GRID = {3, 8, 16};
+    private static final int CALIBRATION_WARMUP = 2;
+    private static final int CALIBRATION_SAMPLES = 5;
+
+    private final int threads;
+    private final Map<Strategy, WordCounter> counters = new EnumMap<>(Strategy.class);
+    private final Map<String, Map<Strategy, Long>> medians = new LinkedHashMap<>();
+    private final Map<String, Choice> choices = new LinkedHashMap<>();
+    private final String signature;
+    private final boolean loadedFromProfile;
+
+    /**
+     * Loads the profile from {@code profileFile} when it matches this machine, otherwise calibrates and saves it
+     * there. A {@code null} file always calibrates and keeps the result in memory only. With {@code allowOpenCl}
+     * false the OpenCL device is not even probed.
+     */
+    public AutoCounter(int threads, Path profileFile, boolean allowOpenCl) throws Exception {
+        this.threads = Math.max(1, threads);
+        counters.put(Strategy.SERIAL, new FoldingSerialCpuCounter());
+        if (this.threads > 1) {
+            counters.put(Strategy.PARALLEL, new FoldingParallelCpuCounter(this.threads));
+        }
+        if (VectorizedCpuCounter.isSupported()) {
+            counters.put(Strategy.SIMD, new VectorizedCpuCounter());
+            if (this.threads > 1) {
+                counters.put(Strategy.SIMD_PARALLEL, new VectorizedParallelCpuCounter(this.threads));
+            }
+        }
+        String openClDevice = allowOpenCl ? probeOpenCl() : null;
+        if (openClDevice != null) {
+            counters.put(Strategy.OPENCL, new ParallelGpuOptimizedCounter());
+        }
+        this.signature = "cores=" + Runtime.getRuntime().availableProcessors() + " threads=" + this.threads
+                + " strategies=" + counters.keySet() + " opencl=" + (openClDevice == null ? "none" : openClDevice)
+                + (counters.containsKey(Strategy.SIMD) ? " vector_bits=" + VectorScan.SPECIES.vectorBitSize() : "");
+
+        boolean loaded = profileFile != null && load(profileFile);
+        if (!loaded) {
+            calibrate();
+            if (profileFile != null) {
+                save(profileFile);
+            }
+        }
+        this.loadedFromProfile = loaded;
+        for (var cell : medians.entrySet()) {
+            choices.put(cell.getKey(), Choice.of(cell.getKey(), cell.getValue()));
+        }
+    }
+
+    @Override
+    public String name() {
+        return "Auto";
+    }
+
+    public boolean loadedFromProfile() {
+        return loadedFromProfile;
+    }
+
+    @Override
+    public WordCountResult count(String datasetName, String text, String targetWord) throws Exception {
+        if (targetWord.isBlank()) {
+            throw new IllegalArgumentException("Target word must not be blank");
+        }
+        long start = System.nanoTime();
+        Choice choice = choices.get(key(nearest(SIZE_GRID, text.length()), nearest(WORD_GRID, targetWord.length())));
+        boolean avoidOpenCl = choice.strategy() == Strategy.OPENCL
+                && selfOverlaps(targetWord.toLowerCase(Locale.ROOT));
+        Strategy chosen = avoidOpenCl ? choice.cpuStrategy() : choice.strategy();
+        WordCountResult delegated = counters.get(chosen).count(datasetName, text, targetWord);
+        long elapsed = System.nanoTime() - start;
+        return new WordCountResult(name(), datasetName, delegated.occurrences(), elapsed, delegated.threads(),
+                delegated.deviceType(), avoidOpenCl ? choice.cpuDetails() : choice.details(), delegated.phases());
+    }
+
+    /**
+     * One line per grid cell with the winning strategy, for logs.
+     */
+    public String describeProfile() {
+        StringBuilder out = new StringBuilder(signature).append(loadedFromProfile ? " (perfil salvo)" : " (calibrado)");
+        for (var cell : medians.entrySet()) {
+            out.append(System.lineSeparator()).append("  ").append(cell.getKey()).append(" -> ")
+                    .append(fastest(cell.getValue(), true)).append(' ').append(cell.getValue());
+        }
+        return out.toString();
+    }
+
+    /**
+     * Decision for one grid cell, resolved once so a call only does a map lookup before delegating.
+     */
+    private record Choice(Strategy strategy, String details, Strategy cpuStrategy, String cpuDetails) {
+
+        static Choice of(String key, Map<Strategy, Long> cell) {
+            Strategy winner = fastest(cell, true);
+            String reason = "cell " + key + ": " + winner + " " + millis(cell.get(winner));
+            Strategy runnerUp = runnerUp(cell, winner);
+            String details = "strategy=" + winner + " reason=" + reason
+                    + (runnerUp == null ? "" : " vs " + runnerUp + " " + millis(cell.get(runnerUp)));
+            Strategy cpu = fastest(cell, false);
+            String cpuDetails = "strategy=" + cpu + " reason=" + reason
+                    + ", word overlaps itself so " + cpu + " " + millis(cell.get(cpu));
+            return new Choice(winner, details, cpu, cpuDetails);
+        }
+    }
+
+    private void calibrate() throws Exception {
+        BenchmarkEngine engine = new BenchmarkEngine(CALIBRATION_WARMUP, CALIBRATION_SAMPLES, CALIBRATION_SAMPLES, 0);
+        // Untimed pass per strategy first, otherwise the first grid cell also pays for JIT compilation.
+        String warmText = calibrationText(SIZE_GRID[1], calibrationWord(WORD_GRID[1]));
+        for (WordCounter counter : counters.values()) {
+            for (int i = 0; i < CALIBRATION_WARMUP * CALIBRATION_SAMPLES; i++) {
+                counter.count("calibration", warmText, calibrationWord(WORD_GRID[1]));
+            }
+        }
+        for (int size : SIZE_GRID) {
+            for (int word : WORD_GRID) {
+                String target = calibrationWord(word);
+                String text = calibrationText(size, target);
+                Map<Strategy, Long> cell = new EnumMap<>(Strategy.class);
+                for (var candidate : counters.entrySet()) {
+                    BenchmarkEngine.Measurement measurement =
+                            engine.measure(() -> candidate.getValue().count("calibration", text, target));
+                    cell.put(candidate.getKey(), measurement.statistics().medianNanos());
+                }
+                medians.put(key(size, word), cell);
+            }
+        }
+    }
+
+    private boolean load(Path profileFile) throws IOException {
+        if (!Files.exists(profileFile)) {
+            return false;
+        }
+        Properties properties = new Properties();
+        try (InputStream in = Files.newInputStream(profileFile)) {
+            properties.load(in);
+        }
+        if (!signature.equals(properties.getProperty("signature"))) {
+            return false;
+        }
+        for (int size : SIZE_GRID) {
+            for (int word : WORD_GRID) {
+                Map<Strategy, Long> cell = new EnumMap<>(Strategy.class);
+                for (Strategy strategy : counters.keySet()) {
+                    String value = properties.getProperty(key(size, word) + "." + strategy);
+                    if (value == null) {
+                        medians.clear();
+                        return false;
+                    }
+                    cell.put(strategy, Long.parseLong(value));
+                }
+                medians.put(key(size, word), cell);
+            }
+        }
+        return true;
+    }
+
+    private void save(Path profileFile) throws IOException {
+        Properties properties = new Properties();
+        properties.setProperty("signature", signature);
+        for (var cell : medians.entrySet()) {
+            for (var median : cell.getValue().entrySet()) {
+                properties.setProperty(cell.getKey() + "." + median.getKey(), String.valueOf(median.getValue()));
+            }
+        }
+        if (profileFile.getParent() != null) {
+            Files.createDirectories(profileFile.getParent());
+        }
+        try (OutputStream out = Files.newOutputStream(profileFile)) {
+            properties.store(out, "AutoCounter calibration: median ns per strategy for each size/word length");
+        }
+    }
+
+    /**
+     * Label of the OpenCL device after a tiny test count, or null when there is no working OpenCL runtime.
+     */
+    private static String probeOpenCl() {
+        try {
+            return new ParallelGpuOptimizedCounter().count("probe", "probe text", "text").deviceType().replace(' ', '_');
+        } catch (RuntimeException | LinkageError e) {
+            return null;
+        }
+    }
+
+    private static Strategy fastest(Map<Strategy, Long> cell, boolean allowOpenCl) {
+        Strategy best = null;
+        for (var entry : cell.entrySet()) {
+            if (!allowOpenCl && entry.getKey() == Strategy.OPENCL) {
+                continue;
+            }
+            if (best == null || entry.getValue() < cell.get(best)) {
+                best = entry.getKey();
+            }
+        }
+        return best;
+    }
+
+    private static Strategy runnerUp(Map<Strategy, Long> cell, Strategy winner) {
+        Strategy second = null;
+        for (var entry : cell.entrySet()) {
+            if (entry.getKey() != winner && (second == null || entry.getValue() < cell.get(second))) {
+                second = entry.getKey();
+            }
+        }
+        return second;
+    }
+
+    /**
+     * True when a proper prefix of the word equals a suffix, i.e. two matches can overlap.
+     */
+    static boolean selfOverlaps(String word) {
+        for (int border = 1; border < word.length(); border++) {
+            if (word.regionMatches(0, word, word.length() - border, border)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Grid value closest to {@code value} in log scale.
+     */
+    private static int nearest(int[] grid, int value) {
+        int best = grid[0];
+        double distance = Double.MAX_VALUE;
+        for (int candidate : grid) {
+            double d = Math.abs(Math.log(Math.max(1, value)) - Math.log(candidate));
+            if (d < distance) {
+                distance = d;
+                best = candidate;
+            }
+        }
+        return best;
+    }
+
+    private static String key(int size, int word) {
+        String label = size >= 1024 * 1024 ? size / (1024 * 1024) + "MiB" : size / 1024 + "KiB";
+        return label + ".len" + word;
+    }
+
+    private static String millis(long nanos) {
+        return String.format(Locale.ROOT, "%.3fms", nanos / 1_000_000.0);
+    }
+
+    /**
+     * Distinct letters, so the word never overlaps itself and every strategy is eligible during calibration.
+     */
+    private static String calibrationWord(int length) {
+        StringBuilder word = new StringBuilder(length);
+        for (int i = 0; i < length; i++) {
+            word.append((char) ('a' + (i * 7) % 26));
+        }
+        return word.toString();
+    }
+
+    private static String calibrationText(int chars, String target) {
+        SplittableRandom random = new SplittableRandom(chars * 31L + target.length());
+        StringBuilder text = new StringBuilder(chars + 32);
+        while (text.length() < chars) {
+            if (random.nextInt(150) == 0) {
+                text.append(target);
+            } else {
+                int length = 2 + random.nextInt(9);
+                for (int i = 0; i < length; i++) {
+                    text.append((char) ('a' + random.nextInt(26)));
+                }
+            }
+            text.append(' ');
+        }
+        text.setLength(chars);
+        return text.toString();
+    }
+}
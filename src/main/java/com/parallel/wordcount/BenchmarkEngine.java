@@ -0,0 +1,58 @@
+package com.parallel.wordcount;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+
+/**
+ * Runs one benchmark cell (a counter on a dataset with a fixed thread count) until its timing is trustworthy.
+ *
+ * <p>The first {@code warmup} calls are discarded so JIT compilation and cache setup do not leak into the samples.
+ * At least {@code minSamples} are then recorded; when {@code targetRelativeCi} is positive, sampling continues
+ * until the 95% confidence interval of the mean is within that fraction of the mean, or {@code maxSamples} is hit.
+ */
+public final class BenchmarkEngine {
+
+    public static final int DEFAULT_WARMUP = 2;
+    public static final int DEFAULT_MAX_SAMPLES = 30;
+
+    private final int warmup;
+    private final int minSamples;
+    private final int maxSamples;
+    private final double targetRelativeCi;
+
+    public BenchmarkEngine(int warmup, int minSamples, int maxSamples, double targetRelativeCi) {
+        if (warmup < 0 || minSamples < 1 || maxSamples < minSamples) {
+            throw new IllegalArgumentException("Invalid sampling bounds: warmup=" + warmup
+                    + " min=" + minSamples + " max=" + maxSamples);
+        }
+        this.warmup = warmup;
+        this.minSamples = minSamples;
+        this.maxSamples = maxSamples;
+        this.targetRelativeCi = targetRelativeCi;
+    }
+
+    public Measurement measure(Callable<WordCountResult> cell) throws Exception {
+        for (int i = 0; i < warmup; i++) {
+            cell.call();
+        }
+        List<WordCountResult> samples = new ArrayList<>();
+        SampleStatistics statistics = null;
+        while (samples.size() < maxSamples) {
+            samples.add(cell.call());
+            if (samples.size() >= minSamples) {
+                statistics = SampleStatistics.of(samples);
+                if (targetRelativeCi <= 0 || statistics.relativeCi() <= targetRelativeCi) {
+                    break;
+                }
+            }
+        }
+        return new Measurement(samples, statistics);
+    }
+
+    /**
+     * Kept samples (warmup excluded) and their summary.
+     */
+    public record Measurement(List<WordCountResult> samples, SampleStatistics statistics) {
+    }
+}
@@ -1,13 +1,22 @@
 package com.parallel.wordcount;
 
+import java.io.BufferedReader;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.Paths;
+import java.time.Duration;
 import java.time.LocalDateTime;
 import java.time.format.DateTimeFormatter;
 import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Collections;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.Callable;
 
 /**
  * Simple CLI runner for benchmarking the counting strategies.
@@ -21,51 +30,484 @@ public class BenchmarkRunner {
             return;
         }
         validate(config);
+        if (config.query) {
+            runQuery(config);
+            return;
+        }
 
         SerialCpuCounter serial = new SerialCpuCounter();
+        FoldingSerialCpuCounter serialFold = new FoldingSerialCpuCounter();
+        VectorizedCpuCounter vector = new VectorizedCpuCounter();
+        boolean vectorSupported = VectorizedCpuCounter.isSupported();
+        if (!vectorSupported) {
+            System.out.println("VectorCPU ignorado: inicie a JVM com --add-modules jdk.incubator.vector");
+        }
         ParallelGpuCounter gpu = new ParallelGpuCounter();
+        StreamingGpuCounter gpuStream = new StreamingGpuCounter(config.gpuChunkMb * 1024 * 1024);
+        TiledGpuCounter gpuTiled = new TiledGpuCounter(TiledGpuCounter.Variant.TILED);
+        TiledGpuCounter gpuVec16 = new TiledGpuCounter(TiledGpuCounter.Variant.VECTOR);
+        MultiDeviceGpuCounter gpuMultiDevice = new MultiDeviceGpuCounter();
 
+        BenchmarkEngine engine = new BenchmarkEngine(config.warmup, config.runs, Math.max(config.runs, config.maxRuns),
+                config.targetCiPercent / 100.0);
         List<WordCountResult> results = new ArrayList<>();
+        List<SampleStatistics> statistics = new ArrayList<>();
+        List<MultiWordCountResult> multiResults = new ArrayList<>();
 
-        for (Path input : config.inputs) {
-            String datasetName = input.getFileName().toString();
-            String text = TextLoader.load(input);
-            System.out.println("\nDataset: " + datasetName + " (" + text.length() + " chars)");
+        List<WordCountResult> corpusFiles = new ArrayList<>();
+        Map<String, WordHistogram> histograms = new LinkedHashMap<>();
 
-            for (int run = 1; run <= config.runs; run++) {
-                System.out.println("  Run " + run + "/" + config.runs);
-                results.add(serial.count(datasetName, text, config.word));
+        if (config.mapped) {
+            runMapped(config, engine, results, statistics);
+        }
+        if (config.corpus != null && config.cell == null) {
+            runCorpus(config, engine, results, statistics, corpusFiles);
+        }
 
-                for (int threads : config.threadOptions) {
-                    ParallelCpuCounter parallelCpuCounter = new ParallelCpuCounter(threads);
-                    results.add(parallelCpuCounter.count(datasetName, text, config.word));
+        ForkedCellLauncher launcher = config.fork ? new ForkedCellLauncher(forkJvmOptions(config)) : null;
+        if (config.fork) {
+            System.out.println("Modo --fork: cada celula roda em uma JVM nova (" + String.join(" ", forkJvmOptions(config)) + ")");
+        }
+
+        // Pools persistentes vivem durante toda a sessao (todos os datasets e execucoes).
+        CpuPoolRegistry pools = config.pooled ? new CpuPoolRegistry(config.prestart, config.pinPool) : null;
+        IndexedCounter indexed = config.indexDir != null ? new IndexedCounter(config.indexDir) : null;
+        // Um contador hibrido por opcao de threads, para que a divisao CPU/GPU aprendida atravesse os datasets.
+        Map<Integer, HybridCpuGpuCounter> hybrids = new LinkedHashMap<>();
+        int autoThreads = Collections.max(config.threadOptions);
+        AutoCounter auto = null;
+        if (config.autoProfile != null && !config.mapped && config.corpus == null) {
+            auto = new AutoCounter(autoThreads, config.autoProfile, !config.skipGpu);
+            if (config.cell == null) {
+                System.out.println("Auto: " + auto.describeProfile());
+            }
+        }
+        try {
+            for (Path input : config.mapped || config.corpus != null ? List.<Path>of() : config.inputs) {
+                String datasetName = input.getFileName().toString();
+                String text = TextLoader.load(input);
+                System.out.println("\nDataset: " + datasetName + " (" + text.length() + " chars)");
+                if (indexed != null) {
+                    ensureIndex(config, input, datasetName, indexed, results);
+                }
+
+                // Cada celula (contador, dataset, threads) e medida ate o fim antes da proxima.
+                List<Cell> cells = new ArrayList<>();
+                cells.add(Cell.of(serial, 1, datasetName, text, config.word));
+                cells.add(Cell.of(serialFold, 1, datasetName, text, config.word));
+                if (vectorSupported) {
+                    cells.add(Cell.of(vector, 1, datasetName, text, config.word));
+                }
+                for (SearchAlgorithm algorithm : config.algorithms) {
+                    cells.add(Cell.of(new SearcherSerialCpuCounter(algorithm), 1, datasetName, text, config.word));
+                }
+                if (indexed != null) {
+                    cells.add(Cell.of(indexed, 1, datasetName, text, config.word));
                 }
 
+                for (int threads : config.threadOptions) {
+                    cells.add(Cell.of(new ParallelCpuCounter(threads), threads, datasetName, text, config.word));
+                    cells.add(Cell.of(new FoldingParallelCpuCounter(threads), threads, datasetName, text, config.word));
+                    if (vectorSupported) {
+                        cells.add(Cell.of(new VectorizedParallelCpuCounter(threads), threads, datasetName, text, config.word));
+                    }
+                    cells.add(Cell.of(new ForkJoinCpuCounter(threads, config.grain), threads, datasetName, text, config.word));
+                    if (pools != null) {
+                        cells.add(Cell.of(pools.forThreads(threads), threads, datasetName, text, config.word));
+                    }
+                    for (SearchAlgorithm algorithm : config.algorithms) {
+                        cells.add(Cell.of(new SearcherParallelCpuCounter(algorithm, threads), threads, datasetName, text, config.word));
+                    }
+                    if (!config.skipGpu) {
+                        HybridCpuGpuCounter hybrid = hybrids.computeIfAbsent(threads, HybridCpuGpuCounter::new);
+                        cells.add(Cell.of(hybrid, threads, datasetName, text, config.word).asOptional());
+                    }
+                }
+                if (auto != null) {
+                    cells.add(Cell.of(auto, autoThreads, datasetName, text, config.word));
+                }
                 if (!config.skipGpu) {
+                    cells.add(Cell.of(gpu, 1, datasetName, text, config.word).asOptional());
+                    cells.add(Cell.of(gpuStream, 1, datasetName, text, config.word).asOptional());
+                    cells.add(Cell.of(gpuTiled, 1, datasetName, text, config.word).asOptional());
+                    cells.add(Cell.of(gpuVec16, 1, datasetName, text, config.word).asOptional());
+                    cells.add(Cell.of(gpuMultiDevice, 1, datasetName, text, config.word).asOptional());
+                }
+
+                for (Cell cell : cells) {
+                    if (config.cell != null && !config.cell.equals(cell.key())) {
+                        continue;
+                    }
                     try {
-                        results.add(gpu.count(datasetName, text, config.word));
-                    } catch (Exception ex) {
-                        System.err.println("    GPU run skipped: " + ex.getMessage());
+                        if (config.fork) {
+                            List<WordCountResult> samples = launcher.run(childArgs(config, input, cell));
+                            record(new BenchmarkEngine.Measurement(samples, SampleStatistics.of(samples)), results, statistics);
+                        } else {
+                            measureCell(engine, cell.task(), results, statistics);
+                        }
+                    } catch (Exception | LinkageError ex) {
+                        // LinkageError: sem libOpenCL a JOCL falha ao carregar, o que so deve pular as celulas GPU.
+                        if (!cell.optional()) {
+                            throw ex;
+                        }
+                        System.err.println("    " + cell.key() + " ignorado: " + ex.getMessage());
                     }
                 }
+                if (config.cell != null) {
+                    continue;
+                }
+
+                if (!config.words.isEmpty()) {
+                    runMultiWord(config, engine, datasetName, text, results, statistics, multiResults);
+                }
+
+                if (config.histogramTop > 0) {
+                    runHistogram(config, engine, input, datasetName, results, statistics, histograms);
+                }
+            }
+        } finally {
+            if (pools != null) {
+                pools.close();
             }
+            if (indexed != null) {
+                indexed.close();
+            }
+        }
+
+        if (config.cellOutput != null) {
+            // Processo filho do modo --fork: as amostras voltam ao pai por este arquivo.
+            CsvExporter.write(config.cellOutput, results);
+            return;
         }
 
         Path csvPath = config.csvOutput != null ? config.csvOutput : defaultCsvPath();
         CsvExporter.write(csvPath, results);
         System.out.println("\nCSV salvo em: " + csvPath.toAbsolutePath());
+        Path statsCsv = siblingPath(csvPath, "_stats");
+        CsvExporter.writeStatistics(statsCsv, statistics);
+        System.out.println("CSV de estatisticas salvo em: " + statsCsv.toAbsolutePath());
+        if (!corpusFiles.isEmpty()) {
+            Path filesCsv = siblingPath(csvPath, "_files");
+            CsvExporter.write(filesCsv, corpusFiles);
+            System.out.println("CSV por arquivo do corpus salvo em: " + filesCsv.toAbsolutePath());
+        }
+        if (!histograms.isEmpty()) {
+            Path histogramCsv = siblingPath(csvPath, "_histogram");
+            CsvExporter.writeHistogram(histogramCsv, histograms, config.histogramTop);
+            System.out.println("CSV do histograma salvo em: " + histogramCsv.toAbsolutePath());
+        }
+        if (!multiResults.isEmpty()) {
+            Path wordsCsv = siblingPath(csvPath, "_words");
+            CsvExporter.writeWordCounts(wordsCsv, multiResults);
+            System.out.println("CSV por palavra salvo em: " + wordsCsv.toAbsolutePath());
+        }
 
         if (config.chartOutput != null) {
-            ChartGenerator.exportAverageDurationChart(results, config.chartOutput);
+            ChartGenerator.exportStatisticsChart(statistics, config.chartOutput);
             System.out.println("Grafico salvo em: " + config.chartOutput.toAbsolutePath());
         }
     }
 
+    /**
+     * Mede uma celula com aquecimento e amostragem do {@link BenchmarkEngine} e imprime o resumo estatistico.
+     */
+    private static void measureCell(BenchmarkEngine engine, Callable<WordCountResult> cell,
+                                    List<WordCountResult> results, List<SampleStatistics> statistics) throws Exception {
+        record(engine.measure(cell), results, statistics);
+    }
+
+    private static void record(BenchmarkEngine.Measurement measurement,
+                               List<WordCountResult> results, List<SampleStatistics> statistics) {
+        results.addAll(measurement.samples());
+        statistics.add(measurement.statistics());
+        SampleStatistics s = measurement.statistics();
+        WordCountResult last = measurement.samples().get(measurement.samples().size() - 1);
+        System.out.printf(Locale.ROOT,
+                "    %-32s n=%-3d min=%.3f mediana=%.3f p90=%.3f p99=%.3f dp=%.3f ms ic95=+-%.1f%% outliers=%d%s%n",
+                s.label(), s.samples(), s.minNanos() / 1e6, s.medianNanos() / 1e6, s.p90Nanos() / 1e6,
+                s.p99Nanos() / 1e6, s.stddevNanos() / 1e6, s.relativeCi() * 100, s.outliers(),
+                last.details() != null ? " | " + last.details() : "");
+        if (last.phases() != null) {
+            System.out.println("      fases (ultima amostra, ms): " + last.phases().describe());
+        }
+    }
+
+    /**
+     * JVM flags for forked cells: heap from --fork-heap, extra flags from --fork-jvm-args, and the OpenCL
+     * device preference, sub-device split and Vector API module of this JVM so children measure the same configuration.
+     */
+    private static List<String> forkJvmOptions(Config config) {
+        List<String> options = new ArrayList<>();
+        if (config.forkHeap != null) {
+            options.add("-Xms" + config.forkHeap);
+            options.add("-Xmx" + config.forkHeap);
+        }
+        options.addAll(config.forkJvmArgs);
+        for (String property : List.of(OpenClSupport.DEVICE_PROPERTY, OpenClSupport.SUB_DEVICES_PROPERTY)) {
+            String value = System.getProperty(property);
+            if (value != null) {
+                options.add("-D" + property + "=" + value);
+            }
+        }
+        if (VectorizedCpuCounter.isSupported()) {
+            options.add("--add-modules");
+            options.add("jdk.incubator.vector");
+        }
+        return options;
+    }
+
+    /**
+     * Arguments that make a child runner measure exactly {@code cell} on {@code input} and write the samples
+     * to a file; options irrelevant to the cell are left out so the child does not set up unused resources.
+     */
+    private static List<String> childArgs(Config config, Path input, Cell cell) {
+        List<String> args = new ArrayList<>(List.of(
+                "--word", config.word,
+                "--inputs", input.toString(),
+                "--threads", String.valueOf(cell.threads()),
+                "--warmup", String.valueOf(config.warmup),
+                "--runs", String.valueOf(config.runs),
+                "--max-runs", String.valueOf(config.maxRuns),
+                "--target-ci", String.valueOf(config.targetCiPercent),
+                "--grain", String.valueOf(config.grain),
+                "--cell", cell.key(),
+                "--cell-output", ForkedCellLauncher.OUTPUT_PLACEHOLDER));
+        if (!config.algorithms.isEmpty()) {
+            args.add("--algorithm");
+            args.add(String.join(",", config.algorithms.stream().map(SearchAlgorithm::label).toList()));
+        }
+        if (cell.key().startsWith("ParallelCPU-Pooled")) {
+            args.add("--pooled");
+            if (config.prestart) {
+                args.add("--prestart");
+            }
+            if (config.pinPool) {
+                args.add("--pin-pool");
+            }
+        }
+        if (config.indexDir != null && cell.key().startsWith("IndexedCPU")) {
+            args.add("--index-dir");
+            args.add(config.indexDir.toString());
+        }
+        if (cell.key().startsWith("ParallelGPU-Stream")) {
+            args.add("--gpu-chunk-mb");
+            args.add(String.valueOf(config.gpuChunkMb));
+        }
+        if (config.autoProfile != null && cell.key().startsWith("Auto")) {
+            args.add("--auto-profile");
+            args.add(config.autoProfile.toString());
+        }
+        // O Auto so usa OpenCL quando o pai tambem usa, senao a assinatura do perfil mudaria na filha.
+        if (config.skipGpu || !(cell.key().startsWith("ParallelGPU") || cell.key().startsWith("HybridCPU+GPU")
+                || cell.key().startsWith("Auto"))) {
+            args.add("--skip-gpu");
+        }
+        return args;
+    }
+
+    /**
+     * Conta todas as palavras de --words em uma unica passada (Aho-Corasick), serial e por threads, e em lote
+     * na GPU (um upload do texto e um kernel para todas as palavras) quando o OpenCL nao foi desligado.
+     */
+    private static void runMultiWord(Config config, BenchmarkEngine engine, String datasetName, String text,
+                                     List<WordCountResult> results, List<SampleStatistics> statistics,
+                                     List<MultiWordCountResult> multiResults) throws Exception {
+        List<MultiWordCounter> counters = new ArrayList<>();
+        counters.add(new AhoCorasickCounter());
+        for (int threads : config.threadOptions) {
+            counters.add(new AhoCorasickCounter(threads));
+        }
+        if (!config.skipGpu) {
+            counters.add(new GpuMultiWordCounter());
+        }
+        for (MultiWordCounter counter : counters) {
+            MultiWordCountResult[] last = new MultiWordCountResult[1];
+            try {
+                measureCell(engine, () -> {
+                    last[0] = counter.count(datasetName, text, config.words);
+                    return last[0].toSummary();
+                }, results, statistics);
+            } catch (Exception | LinkageError ex) {
+                if (!(counter instanceof GpuMultiWordCounter)) {
+                    throw ex;
+                }
+                System.err.println("    " + counter.name() + " ignorado: " + ex.getMessage());
+                continue;
+            }
+            multiResults.add(last[0]);
+        }
+    }
+
+    /**
+     * Reconstroi o indice invertido do dataset quando ele nao existe ou o arquivo de origem mudou.
+     */
+    private static void ensureIndex(Config config, Path input, String datasetName, IndexedCounter indexed,
+                                    List<WordCountResult> results) throws Exception {
+        Path current = InvertedIndexBuilder.currentIndexFile(config.indexDir, datasetName);
+        if (InvertedIndexBuilder.isFresh(input, current)) {
+            System.out.println("  Indice reutilizado: " + current.toAbsolutePath());
+            return;
+        }
+        int threads = config.threadOptions.get(config.threadOptions.size() - 1);
+        indexed.invalidate(datasetName);
+        // Nova geracao em vez de sobrescrever: no Windows o arquivo antigo pode continuar mapeado.
+        Path indexFile = InvertedIndexBuilder.nextIndexFile(config.indexDir, datasetName);
+        WordCountResult build = new InvertedIndexBuilder(threads).build(input, indexFile);
+        InvertedIndexBuilder.deleteOlderGenerations(config.indexDir, datasetName, indexFile);
+        System.out.println("  Indice criado em " + build.durationMillis() + " ms (" + build.occurrences() + " termos): "
+                + indexFile.toAbsolutePath());
+        results.add(build);
+    }
+
+    /**
+     * Histograma completo de tokens (serial e por threads); o ultimo histograma de cada dataset vai para o CSV.
+     */
+    private static void runHistogram(Config config, BenchmarkEngine engine, Path input, String datasetName,
+                                     List<WordCountResult> results, List<SampleStatistics> statistics,
+                                     Map<String, WordHistogram> histograms) throws Exception {
+        byte[] bytes = TextLoader.loadBytes(input);
+        List<WordHistogramEngine> engines = new ArrayList<>();
+        engines.add(new WordHistogramEngine(1));
+        for (int threads : config.threadOptions) {
+            engines.add(new WordHistogramEngine(threads));
+        }
+        for (WordHistogramEngine histogramEngine : engines) {
+            measureCell(engine, () -> histogramEngine.measure(datasetName, bytes), results, statistics);
+        }
+        WordHistogram histogram = engines.get(engines.size() - 1).build(bytes);
+        histograms.put(datasetName, histogram);
+        System.out.println("    Top " + config.histogramTop + ": " + histogram.top(config.histogramTop));
+    }
+
+    /**
+     * Modo corpus: uma tarefa por arquivo do diretorio, comparando virtual threads com um pool de plataforma.
+     */
+    private static void runCorpus(Config config, BenchmarkEngine engine, List<WordCountResult> results,
+                                  List<SampleStatistics> statistics, List<WordCountResult> perFile) throws Exception {
+        List<CorpusCounter> counters = new ArrayList<>();
+        if (CorpusCounter.isVirtualThreadsSupported()) {
+            counters.add(new CorpusCounter(CorpusCounter.Mode.VIRTUAL, config.corpusConcurrency));
+        } else {
+            System.out.println("CorpusVirtual ignorado: virtual threads exigem Java 21+");
+        }
+        counters.add(new CorpusCounter(CorpusCounter.Mode.PLATFORM, config.corpusConcurrency));
+
+        System.out.println("\nCorpus: " + config.corpus.toAbsolutePath() + " (concorrencia " + config.corpusConcurrency + ")");
+        for (CorpusCounter counter : counters) {
+            CorpusCountResult[] last = new CorpusCountResult[1];
+            measureCell(engine, () -> {
+                last[0] = counter.count(config.corpus, config.word);
+                return last[0].total();
+            }, results, statistics);
+            System.out.println("      " + last[0].total().occurrences() + " ocorrencias em " + last[0].perFile().size() + " arquivos");
+            perFile.addAll(last[0].perFile());
+        }
+    }
+
+    /**
+     * Modo consulta (sem benchmark): responde --word/--words e depois cada linha da entrada padrao, para todos
+     * os datasets, usando o cache de contagens. Linha vazia ou fim da entrada encerra.
+     */
+    private static void runQuery(Config config) throws Exception {
+        int threads = config.threadOptions.get(config.threadOptions.size() - 1);
+        CachedCountService service = new CachedCountService(new ParallelCpuCounter(threads),
+                new CountCache(config.cacheSize, Duration.ofSeconds(config.cacheTtlSeconds)));
+        List<String> initial = new ArrayList<>();
+        if (config.word != null && !config.word.isBlank()) {
+            initial.add(config.word);
+        }
+        initial.addAll(config.words);
+        for (String word : initial) {
+            answerQuery(service, config.inputs, word);
+        }
+        System.out.println("Digite uma palavra por linha (linha vazia encerra):");
+        BufferedReader reader = new BufferedReader(new InputStreamReader(System.in, StandardCharsets.UTF_8));
+        String line;
+        while ((line = reader.readLine()) != null && !line.isBlank()) {
+            answerQuery(service, config.inputs, line.trim());
+        }
+        System.out.println("Cache: " + service.stats());
+    }
+
+    private static void answerQuery(CachedCountService service, List<Path> inputs, String word) throws Exception {
+        for (Path input : inputs) {
+            WordCountResult res = service.query(input, word);
+            System.out.println("  " + res.dataset() + " '" + word + "': " + res.occurrences() + " ocorrencias ("
+                    + res.details() + ", " + res.durationMillis() + " ms)");
+        }
+    }
+
+    /**
+     * One benchmark cell. The key (method name plus thread count for parallel counters) identifies the cell
+     * across processes in --fork mode.
+     */
+    private record Cell(String key, int threads, boolean optional, Callable<WordCountResult> task) {
+
+        static Cell of(WordCounter counter, int threads, String datasetName, String text, String word) {
+            return new Cell(counter.name() + "@" + threads, threads, false, () -> counter.count(datasetName, text, word));
+        }
+
+        Cell asOptional() {
+            return new Cell(key, threads, true, task);
+        }
+    }
+
+    private static Path siblingPath(Path path, String suffix) {
+        String fileName = path.getFileName().toString();
+        int dot = fileName.lastIndexOf('.');
+        String sibling = dot < 0 ? fileName + suffix : fileName.substring(0, dot) + suffix + fileName.substring(dot);
+        return path.resolveSibling(sibling);
+    }
+
+    /**
+     * Modo streaming: nenhum dataset e carregado como String, apenas janelas mapeadas do arquivo.
+     */
+    private static void runMapped(Config config, BenchmarkEngine engine, List<WordCountResult> results,
+                                  List<SampleStatistics> statistics) throws Exception {
+        MappedFileCounter mapped = new MappedFileCounter(config.windowMb * 1024 * 1024);
+        MappedGpuCounter mappedGpu = new MappedGpuCounter(config.windowMb * 1024 * 1024);
+        for (Path input : config.inputs) {
+            System.out.println("\nDataset: " + input.getFileName() + " (" + Files.size(input) + " bytes, mapeado)");
+            measureCell(engine, () -> mapped.count(input, config.word), results, statistics);
+            if (!config.skipGpu) {
+                try {
+                    measureCell(engine, () -> mappedGpu.count(input, config.word), results, statistics);
+                } catch (Exception | LinkageError ex) {
+                    System.err.println("    " + mappedGpu.name() + " ignorado: " + ex.getMessage());
+                }
+            }
+        }
+    }
+
     private static void validate(Config config) {
-        if (config.word == null || config.word.isBlank()) {
+        if (!config.query && (config.word == null || config.word.isBlank())) {
             throw new IllegalArgumentException("Informe a palavra alvo com --word <palavra>");
         }
-        for (Path input : config.inputs) {
+        if (config.corpus != null && !Files.isDirectory(config.corpus)) {
+            throw new IllegalArgumentException("Diretorio de corpus nao encontrado: " + config.corpus);
+        }
+        if (config.cacheSize < 1 || config.cacheTtlSeconds < 1) {
+            throw new IllegalArgumentException("--cache-size e --cache-ttl devem ser positivos");
+        }
+        if (config.corpusConcurrency < 1) {
+            throw new IllegalArgumentException("--corpus-concurrency deve ser positivo");
+        }
+        if (config.runs < 1 || config.warmup < 0 || config.targetCiPercent < 0) {
+            throw new IllegalArgumentException("--runs deve ser positivo e --warmup/--target-ci nao negativos");
+        }
+        if (config.fork && (config.mapped || config.corpus != null)) {
+            throw new IllegalArgumentException("--fork nao se aplica aos modos --mapped e --corpus");
+        }
+        if (config.grain < 1) {
+            throw new IllegalArgumentException("--grain deve ser positivo");
+        }
+        if (config.windowMb < 1 || config.windowMb > 2047) {
+            throw new IllegalArgumentException("--window-mb deve estar entre 1 e 2047");
+        }
+        if (config.gpuChunkMb < 1 || config.gpuChunkMb > 2047) {
+            throw new IllegalArgumentException("--gpu-chunk-mb deve estar entre 1 e 2047");
+        }
+        for (Path input : config.corpus != null ? List.<Path>of() : config.inputs) {
             if (!Files.exists(input)) {
                 throw new IllegalArgumentException("Arquivo de entrada nao encontrado: " + input);
             }
@@ -82,16 +524,47 @@ public class BenchmarkRunner {
                 Uso:
                   java -jar target/wordcount-parallel-1.0.0-jar-with-dependencies.jar --word termo
                       --inputs data/sample_small.txt,data/sample_medium.txt,data/sample_large.txt
-                      [--runs 3] [--threads 2,4,8] [--csv results/out.csv] [--chart results/out.png] [--skip-gpu]
+                      [--runs 3] [--warmup 2] [--max-runs 30] [--target-ci 5] [--threads 2,4,8] [--csv results/out.csv] [--chart results/out.png] [--skip-gpu] [--gpu-chunk-mb 32]
+                      [--algorithm horspool,raita,two-way] [--words termo1,termo2,...] [--grain 65536]
+                      [--pooled [--prestart] [--pin-pool]]
+                      [--histogram 20] [--mapped [--window-mb 64]] [--corpus <diretorio> [--corpus-concurrency 256]]
+                      [--index-dir <diretorio>] [--query [--cache-size 1024] [--cache-ttl 600]]
+                      [--auto [--auto-profile results/auto_profile.properties]]
+                      [--fork [--fork-heap 2g] [--fork-jvm-args "-XX:+UseParallelGC"]]
 
                 Opcoes:
                   --word <palavra>           Palavra alvo a ser contada (obrigatorio)
                   --inputs <lista>           Lista de arquivos separados por virgula (padrao: amostras em data/)
-                  --runs <n>                 Numero de execucoes repetidas por dataset (padrao: 3)
+                  --runs <n>                 Minimo de amostras medidas por celula (metodo, dataset, threads) (padrao: 3)
+                  --warmup <n>               Execucoes de aquecimento descartadas antes das amostras de cada celula (padrao: 2)
+                  --target-ci <pct>          Continua amostrando ate o IC 95% da media ficar dentro de pct% dela (padrao: desligado)
+                  --max-runs <n>             Limite de amostras por celula quando --target-ci esta ativo (padrao: 30)
                   --threads <lista>          Quantidade de threads para a versao paralela na CPU (padrao: nucleos disponiveis)
                   --csv <arquivo>            Caminho do CSV de saida (padrao: results/wordcount_TIMESTAMP.csv)
                   --chart <arquivo>          Caminho do grafico PNG com tempos medios (opcional)
-                  --skip-gpu                 Nao executar a versao GPU (util se nao houver driver OpenCL)
+                  --skip-gpu                 Nao executar as versoes GPU e HybridCPU+GPU (util se nao houver driver OpenCL)
+                  --gpu-chunk-mb <n>         Tamanho em MB de cada bloco enviado ao dispositivo pelo ParallelGPU-Stream (padrao: 32)
+                  --algorithm <lista>        Algoritmos de busca extras (indexof, horspool, raita, two-way) em versao serial e paralela
+                  --words <lista>            Conta varias palavras em uma passada (Aho-Corasick e lote OpenCL); gera tambem <csv>_words.csv
+                  --grain <n>                Menor faixa (em caracteres) que o ForkJoinCPU ainda divide (padrao: 65536)
+                  --pooled                   Executa tambem o ParallelCPU-Pooled, com um pool de threads por opcao de --threads reutilizado em toda a sessao
+                  --prestart                 Cria todas as threads do pool antes da primeira medicao (com --pooled)
+                  --pin-pool                 Mantem as threads vivas mesmo ociosas; sem a flag elas expiram apos 30 s (com --pooled)
+                  --histogram <n>            Calcula a frequencia de todos os tokens e grava os n mais frequentes em <csv>_histogram.csv
+                  --mapped                   Conta direto do arquivo mapeado em memoria (MappedCPU e MappedGPU), sem carregar o texto no heap
+                  --window-mb <n>            Tamanho da janela mapeada em MB no modo --mapped (padrao: 64)
+                  --corpus <diretorio>       Conta em todos os arquivos do diretorio (uma tarefa por arquivo), virtual threads vs pool de plataforma; gera <csv>_files.csv
+                  --corpus-concurrency <n>   Maximo de arquivos processados ao mesmo tempo no modo --corpus (padrao: 256)
+                  --index-dir <diretorio>    Mantem um indice invertido por dataset (<nome>.idx), reconstruido so quando o arquivo muda, e executa o IndexedCPU
+                  --query                    Modo consulta sem benchmark: responde --word/--words e as palavras lidas da entrada padrao com cache de contagens
+                  --cache-size <n>           Maximo de pares (conteudo, palavra) no cache do modo --query (padrao: 1024)
+                  --cache-ttl <s>            Validade em segundos de cada contagem em cache (padrao: 600)
+                  --auto                     Executa tambem o Auto, que escolhe por tamanho de texto e de palavra a estrategia calibrada mais rapida nesta maquina
+                  --auto-profile <arquivo>   Perfil de calibracao do Auto, reaproveitado enquanto a maquina for a mesma (padrao: results/auto_profile.properties)
+                  --fork                     Mede cada celula (metodo, dataset, threads) em uma JVM filha nova e junta as amostras no CSV;
+                                             --words, --histogram e a construcao do indice continuam no processo principal
+                  --fork-heap <tamanho>      Heap fixo (-Xms/-Xmx) das JVMs filhas do modo --fork, ex.: 2g
+                  --fork-jvm-args "<flags>"  Flags extras das JVMs filhas (GC, JIT...), separadas por espaco
                   --help                     Exibe esta mensagem
                 """);
     }
@@ -100,20 +573,71 @@ public class BenchmarkRunner {
             String word,
             List<Path> inputs,
             int runs,
+            int warmup,
+            int maxRuns,
+            double targetCiPercent,
             List<Integer> threadOptions,
+            List<SearchAlgorithm> algorithms,
+            List<String> words,
+            int grain,
+            boolean pooled,
+            boolean prestart,
+            boolean pinPool,
+            int histogramTop,
             Path csvOutput,
             Path chartOutput,
             boolean skipGpu,
+            int gpuChunkMb,
+            boolean mapped,
+            int windowMb,
+            Path corpus,
+            int corpusConcurrency,
+            Path indexDir,
+            boolean query,
+            int cacheSize,
+            long cacheTtlSeconds,
+            Path autoProfile,
+            boolean fork,
+            String forkHeap,
+            List<String> forkJvmArgs,
+            String cell,
+            Path cellOutput,
             boolean help) {
 
         static Config fromArgs(String[] args) {
             List<Path> inputs = new ArrayList<>();
             String word = null;
             int runs = 3;
+            int warmup = BenchmarkEngine.DEFAULT_WARMUP;
+            int maxRuns = BenchmarkEngine.DEFAULT_MAX_SAMPLES;
+            double targetCiPercent = 0;
             List<Integer> threads = null;
+            List<SearchAlgorithm> algorithms = List.of();
+            List<String> words = List.of();
+            int grain = ForkJoinCpuCounter.DEFAULT_GRAIN;
+            boolean pooled = false;
+            boolean prestart = false;
+            boolean pinPool = false;
+            int histogramTop = 0;
             Path csv = null;
             Path chart = null;
             boolean skipGpu = false;
+            int gpuChunkMb = StreamingGpuCounter.DEFAULT_CHUNK_BYTES / (1024 * 1024);
+            boolean mapped = false;
+            int windowMb = MappedFileCounter.DEFAULT_WINDOW_BYTES / (1024 * 1024);
+            Path corpus = null;
+            int corpusConcurrency = CorpusCounter.DEFAULT_CONCURRENCY;
+            Path indexDir = null;
+            boolean query = false;
+            int cacheSize = CountCache.DEFAULT_MAX_ENTRIES;
+            long cacheTtlSeconds = CountCache.DEFAULT_TTL.toSeconds();
+            boolean auto = false;
+            Path autoProfile = null;
+            boolean fork = false;
+            String forkHeap = null;
+            List<String> forkJvmArgs = List.of();
+            String cell = null;
+            Path cellOutput = null;
             boolean help = false;
 
             for (int i = 0; i < args.length; i++) {
@@ -121,10 +645,41 @@ public class BenchmarkRunner {
                     case "--word" -> word = valueAt(args, ++i);
                     case "--inputs" -> inputs = parsePaths(valueAt(args, ++i));
                     case "--runs" -> runs = Integer.parseInt(valueAt(args, ++i));
+                    case "--warmup" -> warmup = Integer.parseInt(valueAt(args, ++i));
+                    case "--max-runs" -> maxRuns = Integer.parseInt(valueAt(args, ++i));
+                    case "--target-ci" -> targetCiPercent = Double.parseDouble(valueAt(args, ++i));
                     case "--threads" -> threads = parseIntegers(valueAt(args, ++i));
+                    case "--algorithm" -> algorithms = parseAlgorithms(valueAt(args, ++i));
+                    case "--words" -> words = parseWords(valueAt(args, ++i));
+                    case "--grain" -> grain = Integer.parseInt(valueAt(args, ++i));
+                    case "--pooled" -> pooled = true;
+                    case "--prestart" -> prestart = true;
+                    case "--pin-pool" -> pinPool = true;
+                    case "--histogram" -> histogramTop = Integer.parseInt(valueAt(args, ++i));
                     case "--csv" -> csv = Paths.get(valueAt(args, ++i));
                     case "--chart" -> chart = Paths.get(valueAt(args, ++i));
                     case "--skip-gpu" -> skipGpu = true;
+                    case "--gpu-chunk-mb" -> gpuChunkMb = Integer.parseInt(valueAt(args, ++i));
+                    case "--mapped" -> mapped = true;
+                    case "--window-mb" -> windowMb = Integer.parseInt(valueAt(args, ++i));
+                    case "--corpus" -> corpus = Paths.get(valueAt(args, ++i));
+                    case "--corpus-concurrency" -> corpusConcurrency = Integer.parseInt(valueAt(args, ++i));
+                    case "--index-dir" -> indexDir = Paths.get(valueAt(args, ++i));
+                    case "--query" -> query = true;
+                    case "--cache-size" -> cacheSize = Integer.parseInt(valueAt(args, ++i));
+                    case "--cache-ttl" -> cacheTtlSeconds = Long.parseLong(valueAt(args, ++i));
+                    case "--auto" -> auto = true;
+                    case "--auto-profile" -> {
+                        auto = true;
+                        autoProfile = Paths.get(valueAt(args, ++i));
+                    }
+                    case "--fork" -> fork = true;
+                    case "--fork-heap" -> forkHeap = valueAt(args, ++i);
+                    case "--fork-jvm-args" -> forkJvmArgs = Arrays.stream(valueAt(args, ++i).trim().split("\\s+"))
+                            .filter(s -> !s.isEmpty())
+                            .toList();
+                    case "--cell" -> cell = valueAt(args, ++i);
+                    case "--cell-output" -> cellOutput = Paths.get(valueAt(args, ++i));
                     case "--help" -> help = true;
                     default -> throw new IllegalArgumentException("Opcao desconhecida: " + args[i]);
                 }
@@ -142,8 +697,11 @@ public class BenchmarkRunner {
             if (chart == null) {
                 chart = Paths.get("results", "wordcount_chart.png");
             }
+            if (auto && autoProfile == null) {
+                autoProfile = Paths.get("results", "auto_profile.properties");
+            }
 
-            return new Config(word, inputs, runs, threads, csv, chart, skipGpu, help);
+            return new Config(word, inputs, runs, warmup, maxRuns, targetCiPercent, threads, algorithms, words, grain, pooled, prestart, pinPool, histogramTop, csv, chart, skipGpu, gpuChunkMb, mapped, windowMb, corpus, corpusConcurrency, indexDir, query, cacheSize, cacheTtlSeconds, autoProfile, fork, forkHeap, forkJvmArgs, cell, cellOutput, help);
         }
 
         private static String valueAt(String[] args, int idx) {
@@ -161,6 +719,22 @@ public class BenchmarkRunner {
                     .toList();
         }
 
+        private static List<SearchAlgorithm> parseAlgorithms(String raw) {
+            return Arrays.stream(raw.split(","))
+                    .map(String::trim)
+                    .filter(s -> !s.isEmpty())
+                    .map(SearchAlgorithm::fromLabel)
+                    .distinct()
+                    .toList();
+        }
+
+        private static List<String> parseWords(String raw) {
+            return Arrays.stream(raw.split(","))
+                    .map(String::trim)
+                    .filter(s -> !s.isEmpty())
+                    .toList();
+        }
+
         private static List<Integer> parseIntegers(String raw) {
             return Arrays.stream(raw.split(","))
                     .map(String::trim)
@@ -0,0 +1,162 @@
+package com.parallel.wordcount;
+
+import java.util.Arrays;
+
+/**
+ * Open-addressing hash table from byte slices to counts, built for the histogram engine. Keys live in
+ * a single byte arena and entries in parallel primitive arrays, so counting a token never allocates
+ * a {@link String} or a boxed value. Keys are stored ASCII-folded to lowercase. Not thread-safe:
+ * each worker owns one table.
+ */
+final class ByteSliceCounter {
+
+    private static final float LOAD_FACTOR = 0.6f;
+
+    private int[] table;
+    private int mask;
+    private byte[] arena;
+    private int arenaSize;
+    private int[] offsets;
+    private int[] lengths;
+    private int[] hashes;
+    private long[] counts;
+    private int size;
+
+    ByteSliceCounter(int expectedEntries) {
+        int capacity = Integer.highestOneBit(Math.max(16, (int) (expectedEntries / LOAD_FACTOR)) - 1) << 1;
+        this.table = new int[capacity];
+        this.mask = capacity - 1;
+        int entries = Math.max(16, expectedEntries);
+        this.arena = new byte[entries * 8];
+        this.offsets = new int[entries];
+        this.lengths = new int[entries];
+        this.hashes = new int[entries];
+        this.counts = new long[entries];
+    }
+
+    /**
+     * Hash of the ASCII-folded slice; callers must use the same function for {@link #add}.
+     */
+    static int hash(byte[] src, int off, int len) {
+        int h = 0x811C9DC5;
+        for (int i = off; i < off + len; i++) {
+            h = (h ^ CaseFolding.foldAscii(src[i])) * 0x01000193;
+        }
+        h ^= h >>> 16;
+        h *= 0x85EBCA6B;
+        h ^= h >>> 13;
+        return h;
+    }
+
+    /**
+     * Adds {@code delta} to the slice {@code src[off, off + len)} and returns its entry index. When
+     * {@code folded} is false the slice is raw text and is folded on comparison and on insertion.
+     */
+    int add(byte[] src, int off, int len, int hash, long delta, boolean folded) {
+        int slot = hash & mask;
+        while (true) {
+            int entry = table[slot] - 1;
+            if (entry < 0) {
+                return insert(slot, src, off, len, hash, delta, folded);
+            }
+            if (hashes[entry] == hash && keyEquals(entry, src, off, len, folded)) {
+                counts[entry] += delta;
+                return entry;
+            }
+            slot = (slot + 1) & mask;
+        }
+    }
+
+    long get(byte[] key, int hash) {
+        int slot = hash & mask;
+        while (true) {
+            int entry = table[slot] - 1;
+            if (entry < 0) {
+                return 0;
+            }
+            if (hashes[entry] == hash && keyEquals(entry, key, 0, key.length, true)) {
+                return counts[entry];
+            }
+            slot = (slot + 1) & mask;
+        }
+    }
+
+    int size() {
+        return size;
+    }
+
+    int hashAt(int entry) {
+        return hashes[entry];
+    }
+
+    long countAt(int entry) {
+        return counts[entry];
+    }
+
+    byte[] arena() {
+        return arena;
+    }
+
+    int offsetAt(int entry) {
+        return offsets[entry];
+    }
+
+    int lengthAt(int entry) {
+        return lengths[entry];
+    }
+
+    private boolean keyEquals(int entry, byte[] src, int off, int len, boolean folded) {
+        if (lengths[entry] != len) {
+            return false;
+        }
+        int base = offsets[entry];
+        for (int i = 0; i < len; i++) {
+            byte b = folded ? src[off + i] : CaseFolding.foldAscii(src[off + i]);
+            if (arena[base + i] != b) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private int insert(int slot, byte[] src, int off, int len, int hash, long delta, boolean folded) {
+        if (size == offsets.length) {
+            int grown = size * 2;
+            offsets = Arrays.copyOf(offsets, grown);
+            lengths = Arrays.copyOf(lengths, grown);
+            hashes = Arrays.copyOf(hashes, grown);
+            counts = Arrays.copyOf(counts, grown);
+        }
+        if (arenaSize + len > arena.length) {
+            arena = Arrays.copyOf(arena, Math.max(arena.length * 2, arenaSize + len));
+        }
+        for (int i = 0; i < len; i++) {
+            arena[arenaSize + i] = folded ? src[off + i] : CaseFolding.foldAscii(src[off + i]);
+        }
+        offsets[size] = arenaSize;
+        lengths[size] = len;
+        hashes[size] = hash;
+        counts[size] = delta;
+        arenaSize += len;
+        table[slot] = ++size;
+        if (size > table.length * LOAD_FACTOR) {
+            rehash();
+        }
+        return size - 1;
+    }
+
+    private void rehash() {
+        int capacity = table.length * 2;
+        int[] resized = new int[capacity];
+        int newMask = capacity - 1;
+        for (int entry = 0; entry < size; entry++) {
+            int slot = hashes[entry] & newMask;
+            while (resized[slot] != 0) {
+                slot = (slot + 1) & newMask;
+            }
+            resized[slot] = entry + 1;
+        }
+        table = resized;
+        mask = newMask;
+    }
+}
@@ -0,0 +1,81 @@
+package com.parallel.wordcount;
+
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Query path (not a benchmark) that answers repeated (dataset, word) questions from a {@link CountCache}.
+ *
+ * <p>Each dataset file is fingerprinted by size and modification time; only when that changes are the bytes
+ * re-read and re-hashed, and the entries of the previous content are invalidated. Misses are counted with the
+ * wrapped {@link WordCounter}. Edits that keep both size and timestamp unchanged are not detected.
+ */
+public class CachedCountService {
+
+    private final WordCounter counter;
+    private final CountCache cache;
+    private final Map<Path, Fingerprint> fingerprints = new ConcurrentHashMap<>();
+
+    public CachedCountService(WordCounter counter, CountCache cache) {
+        this.counter = counter;
+        this.cache = cache;
+    }
+
+    public String name() {
+        return "CachedQuery";
+    }
+
+    public CountCache.Stats stats() {
+        return cache.stats();
+    }
+
+    /**
+     * Count of {@code targetWord} in {@code dataset}; {@code details} tells whether it came from the cache.
+     */
+    public WordCountResult query(Path dataset, String targetWord) throws Exception {
+        if (targetWord.isBlank()) {
+            throw new IllegalArgumentException("Target word must not be blank");
+        }
+        long start = System.nanoTime();
+        String datasetName = dataset.getFileName().toString();
+        Path key = dataset.toAbsolutePath().normalize();
+        long size = Files.size(dataset);
+        long modified = Files.getLastModifiedTime(dataset).toMillis();
+
+        byte[] bytes = null;
+        Fingerprint fingerprint = fingerprints.get(key);
+        if (fingerprint == null || fingerprint.size != size || fingerprint.modified != modified) {
+            bytes = TextLoader.loadBytes(dataset);
+            Fingerprint fresh = new Fingerprint(bytes.length, modified, CountCache.contentHash(bytes));
+            Fingerprint previous = fingerprints.put(key, fresh);
+            if (previous != null && previous.contentHash != fresh.contentHash) {
+                cache.invalidateContent(previous.contentHash);
+            }
+            fingerprint = fresh;
+        }
+
+        CountCache.Key cacheKey = new CountCache.Key(fingerprint.contentHash, fingerprint.size,
+                targetWord.toLowerCase(Locale.ROOT));
+        Long cached = cache.get(cacheKey);
+        if (cached != null) {
+            long elapsed = System.nanoTime() - start;
+            return new WordCountResult(name(), datasetName, cached, elapsed, null, "CPU", "cache=hit");
+        }
+
+        if (bytes == null) {
+            bytes = TextLoader.loadBytes(dataset);
+        }
+        WordCountResult counted = counter.count(datasetName, new String(bytes, StandardCharsets.UTF_8), targetWord);
+        cache.put(cacheKey, counted.occurrences());
+        long elapsed = System.nanoTime() - start;
+        return new WordCountResult(name(), datasetName, counted.occurrences(), elapsed,
+                counted.threads(), counted.deviceType(), "cache=miss counter=" + counter.name());
+    }
+
+    private record Fingerprint(long size, long modified, long contentHash) {
+    }
+}
@@ -0,0 +1,89 @@
+package com.parallel.wordcount;
+
+/**
+ * Case-insensitive matching primitives that fold case while scanning, so the counters never
+ * build a lowercase copy of the whole text.
+ *
+ * <p>ASCII is folded with a range check. Other chars go through {@link Character#toLowerCase(char)},
+ * which agrees with {@code String.toLowerCase(Locale.ROOT)} for every char whose lowercase form has
+ * the same length. Targets containing non-ASCII characters should therefore take the
+ * {@link #isAscii(String) fallback} path in the counters.
+ */
+public final class CaseFolding {
+
+    private CaseFolding() {
+    }
+
+    public static boolean isAscii(String s) {
+        for (int i = 0; i < s.length(); i++) {
+            if (s.charAt(i) >= 0x80) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    public static char fold(char c) {
+        if (c < 0x80) {
+            return c >= 'A' && c <= 'Z' ? (char) (c + ('a' - 'A')) : c;
+        }
+        return Character.toLowerCase(c);
+    }
+
+    public static byte foldAscii(byte b) {
+        return b >= 'A' && b <= 'Z' ? (byte) (b + ('a' - 'A')) : b;
+    }
+
+    /**
+     * Counts non-overlapping matches of the already lowercased {@code target} that start at or after
+     * {@code startIdx} and strictly before {@code boundary}. Matches may extend past the boundary.
+     */
+    public static int countFolded(String text, String target, int startIdx, int boundary) {
+        int wordLen = target.length();
+        int until = Math.min(boundary, text.length() - wordLen + 1);
+        char first = target.charAt(0);
+        int count = 0;
+        for (int i = startIdx; i < until; i++) {
+            if (fold(text.charAt(i)) == first && regionMatchesFolded(text, i, target)) {
+                count++;
+                i += wordLen - 1;
+            }
+        }
+        return count;
+    }
+
+    /**
+     * Byte variant of {@link #countFolded(String, String, int, int)} for UTF-8 data; only ASCII is folded.
+     */
+    public static int countFolded(byte[] text, byte[] target, int startIdx, int boundary) {
+        int wordLen = target.length;
+        int until = Math.min(boundary, text.length - wordLen + 1);
+        byte first = target[0];
+        int count = 0;
+        for (int i = startIdx; i < until; i++) {
+            if (foldAscii(text[i]) == first && regionMatchesFolded(text, i, target)) {
+                count++;
+                i += wordLen - 1;
+            }
+        }
+        return count;
+    }
+
+    private static boolean regionMatchesFolded(String text, int offset, String target) {
+        for (int j = 1; j < target.length(); j++) {
+            if (fold(text.charAt(offset + j)) != target.charAt(j)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static boolean regionMatchesFolded(byte[] text, int offset, byte[] target) {
+        for (int j = 1; j < target.length; j++) {
+            if (foldAscii(text[offset + j]) != target[j]) {
+                return false;
+            }
+        }
+        return true;
+    }
+}
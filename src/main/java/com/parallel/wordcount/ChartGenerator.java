@@ -33,7 +33,7 @@ public final class ChartGenerator {
         for (WordCountResult r : results) {
             aggregated.computeIfAbsent(r.dataset(), k -> new LinkedHashMap<>())
                     .computeIfAbsent(r.method(), k -> new Stats())
-                    .add(r.durationMillis());
+                    .add(r.durationNanos() / 1_000_000.0);
             methods.add(r.method());
         }
 
@@ -62,17 +62,62 @@ public final class ChartGenerator {
         BitmapEncoder.saveBitmap(chart, outputFile.toString(), BitmapEncoder.BitmapFormat.PNG);
     }
 
+    /**
+     * Median per (dataset, method, threads) with the standard deviation as error bars.
+     */
+    public static void exportStatisticsChart(List<SampleStatistics> statistics, Path outputFile) throws IOException {
+        if (statistics.isEmpty()) {
+            return;
+        }
+        if (outputFile.getParent() != null) {
+            Files.createDirectories(outputFile.getParent());
+        }
+
+        Map<String, Map<String, SampleStatistics>> bySeries = new LinkedHashMap<>();
+        Set<String> datasets = new LinkedHashSet<>();
+        for (SampleStatistics s : statistics) {
+            bySeries.computeIfAbsent(s.label(), k -> new LinkedHashMap<>()).put(s.dataset(), s);
+            datasets.add(s.dataset());
+        }
+        List<String> categories = new ArrayList<>(datasets);
+
+        CategoryChart chart = new CategoryChartBuilder()
+                .width(1100)
+                .height(650)
+                .title("Mediana por dataset (barras: desvio padrao)")
+                .xAxisTitle("Dataset")
+                .yAxisTitle("Tempo (ms)")
+                .build();
+
+        chart.getStyler().setLegendPosition(Styler.LegendPosition.InsideNE);
+        chart.getStyler().setAvailableSpaceFill(0.8);
+        chart.getStyler().setErrorBarsColorSeriesColor(true);
+
+        for (var series : bySeries.entrySet()) {
+            List<Double> medians = new ArrayList<>();
+            List<Double> errors = new ArrayList<>();
+            for (String dataset : categories) {
+                SampleStatistics s = series.getValue().get(dataset);
+                medians.add(s == null ? 0.0 : s.medianNanos() / 1_000_000.0);
+                errors.add(s == null ? 0.0 : s.stddevNanos() / 1_000_000.0);
+            }
+            chart.addSeries(series.getKey(), categories, medians, errors);
+        }
+
+        BitmapEncoder.saveBitmap(chart, outputFile.toString(), BitmapEncoder.BitmapFormat.PNG);
+    }
+
     private static class Stats {
-        private long total = 0;
+        private double total = 0;
         private int count = 0;
 
-        void add(long value) {
+        void add(double value) {
             total += value;
             count++;
         }
 
         double average() {
-            return count == 0 ? 0 : (double) total / count;
+            return count == 0 ? 0 : total / count;
         }
     }
 }
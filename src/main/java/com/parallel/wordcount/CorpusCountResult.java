@@ -0,0 +1,9 @@
+package com.parallel.wordcount;
+
+import java.util.List;
+
+/**
+ * Outcome of a corpus run: the aggregated total plus one entry per file (dataset = path relative to the corpus root).
+ */
+public record CorpusCountResult(WordCountResult total, List<WordCountResult> perFile) {
+}
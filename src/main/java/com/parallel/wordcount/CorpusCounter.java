@@ -0,0 +1,128 @@
+package com.parallel.wordcount;
+
+import java.io.IOException;
+import java.lang.reflect.Method;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.Semaphore;
+import java.util.stream.Stream;
+
+/**
+ * Counts a word across every regular file under a directory, one task per file covering both the read
+ * and the count. A semaphore bounds how many files are in flight at once, independently of the executor.
+ *
+ * <p>{@link Mode#VIRTUAL} runs one virtual thread per file. The project targets Java 17, so the
+ * virtual-thread executor is looked up reflectively and is only available when running on Java 21+;
+ * {@link Mode#PLATFORM} uses a fixed pool of platform threads sized to the concurrency limit for comparison.
+ */
+public class CorpusCounter {
+
+    public enum Mode {
+        VIRTUAL("CorpusVirtual"),
+        PLATFORM("CorpusPlatform");
+
+        private final String label;
+
+        Mode(String label) {
+            this.label = label;
+        }
+
+        public String label() {
+            return label;
+        }
+    }
+
+    public static final int DEFAULT_CONCURRENCY = 256;
+
+    private final Mode mode;
+    private final int concurrency;
+
+    public CorpusCounter(Mode mode, int concurrency) {
+        this.mode = mode;
+        this.concurrency = Math.max(1, concurrency);
+    }
+
+    public String name() {
+        return mode.label();
+    }
+
+    public static boolean isVirtualThreadsSupported() {
+        return virtualExecutorFactory() != null;
+    }
+
+    public CorpusCountResult count(Path root, String targetWord) throws IOException, ExecutionException, InterruptedException {
+        if (targetWord.isBlank()) {
+            throw new IllegalArgumentException("Target word must not be blank");
+        }
+        String normalizedTarget = targetWord.toLowerCase(Locale.ROOT);
+        List<Path> files;
+        try (Stream<Path> walk = Files.walk(root)) {
+            files = walk.filter(Files::isRegularFile).sorted().toList();
+        }
+
+        Semaphore permits = new Semaphore(concurrency);
+        String device = mode == Mode.VIRTUAL ? "CPU (virtual threads)" : "CPU (platform threads)";
+        long start = System.nanoTime();
+        List<WordCountResult> perFile = new ArrayList<>(files.size());
+        ExecutorService executor = newExecutor();
+        try {
+            List<Future<WordCountResult>> futures = new ArrayList<>(files.size());
+            for (Path file : files) {
+                String dataset = root.relativize(file).toString();
+                futures.add(executor.submit(() -> {
+                    permits.acquire();
+                    try {
+                        long fileStart = System.nanoTime();
+                        String text = TextLoader.load(file);
+                        int occurrences = FoldingSerialCpuCounter.countOccurrences(text, normalizedTarget);
+                        long fileElapsed = System.nanoTime() - fileStart;
+                        return new WordCountResult(name(), dataset, occurrences, fileElapsed, concurrency, device);
+                    } finally {
+                        permits.release();
+                    }
+                }));
+            }
+            for (Future<WordCountResult> future : futures) {
+                perFile.add(future.get());
+            }
+        } finally {
+            executor.shutdown();
+        }
+        long elapsed = System.nanoTime() - start;
+
+        long total = perFile.stream().mapToLong(WordCountResult::occurrences).sum();
+        WordCountResult aggregated = new WordCountResult(name(), root.getFileName().toString(), total,
+                elapsed, concurrency, device, "files=" + files.size());
+        return new CorpusCountResult(aggregated, perFile);
+    }
+
+    private ExecutorService newExecutor() {
+        if (mode == Mode.PLATFORM) {
+            return Executors.newFixedThreadPool(concurrency);
+        }
+        Method factory = virtualExecutorFactory();
+        if (factory == null) {
+            throw new IllegalStateException("Virtual threads exigem Java 21+ (JVM atual: " + Runtime.version() + ")");
+        }
+        try {
+            return (ExecutorService) factory.invoke(null);
+        } catch (ReflectiveOperationException e) {
+            throw new IllegalStateException("Nao foi possivel criar o executor de virtual threads", e);
+        }
+    }
+
+    private static Method virtualExecutorFactory() {
+        try {
+            return Executors.class.getMethod("newVirtualThreadPerTaskExecutor");
+        } catch (NoSuchMethodException e) {
+            return null;
+        }
+    }
+}
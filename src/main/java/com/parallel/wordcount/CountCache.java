@@ -0,0 +1,145 @@
+package com.parallel.wordcount;
+
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+import java.nio.ByteOrder;
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Bounded LRU cache of occurrence counts keyed by dataset content and normalized target word.
+ *
+ * <p>Entries expire after a fixed time-to-live and the least recently used entry is evicted once
+ * {@code maxEntries} is reached. Because the key carries a hash of the dataset bytes, an edited dataset
+ * simply stops matching its old entries; {@link #invalidateContent(long)} lets callers drop them eagerly.
+ * All operations are synchronized: a lookup costs far less than any count it saves.
+ */
+public final class CountCache {
+
+    public static final int DEFAULT_MAX_ENTRIES = 1024;
+    public static final Duration DEFAULT_TTL = Duration.ofMinutes(10);
+
+    private static final VarHandle LONGS = MethodHandles.byteArrayViewVarHandle(long[].class, ByteOrder.LITTLE_ENDIAN);
+
+    private final int maxEntries;
+    private final long ttlNanos;
+    private final LinkedHashMap<Key, Entry> entries;
+    private long hits;
+    private long misses;
+    private long evictions;
+    private long expirations;
+    private long invalidations;
+
+    public CountCache() {
+        this(DEFAULT_MAX_ENTRIES, DEFAULT_TTL);
+    }
+
+    public CountCache(int maxEntries, Duration ttl) {
+        if (maxEntries < 1) {
+            throw new IllegalArgumentException("Cache size must be positive");
+        }
+        if (ttl.isNegative() || ttl.isZero()) {
+            throw new IllegalArgumentException("Cache TTL must be positive");
+        }
+        this.maxEntries = maxEntries;
+        this.ttlNanos = ttl.toNanos();
+        this.entries = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<Key, Entry> eldest) {
+                if (size() > CountCache.this.maxEntries) {
+                    evictions++;
+                    return true;
+                }
+                return false;
+            }
+        };
+    }
+
+    /**
+     * Cached count for {@code key}, or {@code null} on a miss (expired entries count as misses).
+     */
+    public synchronized Long get(Key key) {
+        Entry entry = entries.get(key);
+        if (entry != null && System.nanoTime() - entry.storedAt > ttlNanos) {
+            entries.remove(key);
+            expirations++;
+            entry = null;
+        }
+        if (entry == null) {
+            misses++;
+            return null;
+        }
+        hits++;
+        return entry.occurrences;
+    }
+
+    public synchronized void put(Key key, long occurrences) {
+        entries.put(key, new Entry(occurrences, System.nanoTime()));
+    }
+
+    /**
+     * Drops every entry computed from the given content, e.g. once the dataset it came from changed.
+     */
+    public synchronized void invalidateContent(long contentHash) {
+        int before = entries.size();
+        entries.keySet().removeIf(key -> key.contentHash() == contentHash);
+        invalidations += before - entries.size();
+    }
+
+    public synchronized void clear() {
+        invalidations += entries.size();
+        entries.clear();
+    }
+
+    public synchronized Stats stats() {
+        return new Stats(hits, misses, evictions, expirations, invalidations, entries.size());
+    }
+
+    /**
+     * 64-bit hash of the dataset bytes, reading eight bytes per step; not cryptographic, only used to tell
+     * contents apart.
+     */
+    public static long contentHash(byte[] data) {
+        long h = 0x9E3779B97F4A7C15L ^ data.length;
+        int i = 0;
+        for (; i + Long.BYTES <= data.length; i += Long.BYTES) {
+            h = mix(h ^ (long) LONGS.get(data, i));
+        }
+        long tail = 0;
+        for (int shift = 0; i < data.length; i++, shift += 8) {
+            tail |= (data[i] & 0xFFL) << shift;
+        }
+        return mix(h ^ tail);
+    }
+
+    private static long mix(long z) {
+        z = (z ^ (z >>> 30)) * 0xBF58476D1CE4E5B9L;
+        z = (z ^ (z >>> 27)) * 0x94D049BB133111EBL;
+        return z ^ (z >>> 31);
+    }
+
+    /**
+     * Dataset content (hash plus length, so a hash collision also needs equal sizes) and lowercased word.
+     */
+    public record Key(long contentHash, long contentLength, String normalizedWord) {
+    }
+
+    public record Stats(long hits, long misses, long evictions, long expirations, long invalidations, int size) {
+
+        public double hitRate() {
+            long lookups = hits + misses;
+            return lookups == 0 ? 0.0 : (double) hits / lookups;
+        }
+
+        @Override
+        public String toString() {
+            return String.format(java.util.Locale.ROOT,
+                    "hits=%d misses=%d hit_rate=%.2f evictions=%d expirations=%d invalidations=%d size=%d",
+                    hits, misses, hitRate(), evictions, expirations, invalidations, size);
+        }
+    }
+
+    private record Entry(long occurrences, long storedAt) {
+    }
+}
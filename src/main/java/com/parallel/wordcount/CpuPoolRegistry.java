@@ -0,0 +1,30 @@
+package com.parallel.wordcount;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Owns one {@link PooledParallelCpuCounter} per thread option for the lifetime of a benchmark session
+ * (CLI run or UI window). Closing the registry shuts every pool down.
+ */
+public final class CpuPoolRegistry implements AutoCloseable {
+
+    private final boolean prestart;
+    private final boolean pinned;
+    private final Map<Integer, PooledParallelCpuCounter> counters = new ConcurrentHashMap<>();
+
+    public CpuPoolRegistry(boolean prestart, boolean pinned) {
+        this.prestart = prestart;
+        this.pinned = pinned;
+    }
+
+    public PooledParallelCpuCounter forThreads(int threads) {
+        return counters.computeIfAbsent(Math.max(1, threads), t -> new PooledParallelCpuCounter(t, prestart, pinned));
+    }
+
+    @Override
+    public void close() {
+        counters.values().forEach(PooledParallelCpuCounter::close);
+        counters.clear();
+    }
+}
@@ -4,6 +4,7 @@ import java.io.IOException;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.util.List;
+import java.util.Map;
 
 public final class CsvExporter {
 
@@ -15,19 +16,133 @@ public final class CsvExporter {
             Files.createDirectories(path.getParent());
         }
         List<String> lines = new java.util.ArrayList<>();
-        lines.add("method,dataset,occurrences,duration_ms,threads,device");
+        lines.add("method,dataset,occurrences,duration_ms,duration_ns,threads,device,details,"
+                + "normalize_ns,buffers_ns,upload_ns,kernel_ns,readback_ns");
         for (WordCountResult r : results) {
             lines.add(String.join(",",
-                    r.method(),
-                    r.dataset(),
+                    sanitize(r.method()),
+                    sanitize(r.dataset()),
                     String.valueOf(r.occurrences()),
                     String.valueOf(r.durationMillis()),
+                    String.valueOf(r.durationNanos()),
                     r.threads() == null ? "" : String.valueOf(r.threads()),
-                    sanitize(r.deviceType())));
+                    sanitize(r.deviceType()),
+                    sanitize(r.details()),
+                    phases(r.phases())));
         }
         Files.write(path, lines);
     }
 
+    /**
+     * Reads back a file written by {@link #write(Path, List)}; empty optional columns become {@code null}.
+     */
+    public static List<WordCountResult> read(Path path) throws IOException {
+        List<String> lines = Files.readAllLines(path);
+        List<WordCountResult> results = new java.util.ArrayList<>();
+        for (String line : lines.subList(Math.min(1, lines.size()), lines.size())) {
+            if (line.isBlank()) {
+                continue;
+            }
+            String[] f = line.split(",", -1);
+            results.add(new WordCountResult(
+                    f[0],
+                    f[1],
+                    Long.parseLong(f[2]),
+                    Long.parseLong(f[4]),
+                    f[5].isEmpty() ? null : Integer.valueOf(f[5]),
+                    f[6].isEmpty() ? null : f[6],
+                    f[7].isEmpty() ? null : f[7],
+                    f.length > 8 && !f[8].isEmpty() ? new GpuPhases(Long.parseLong(f[8]), Long.parseLong(f[9]),
+                            Long.parseLong(f[10]), Long.parseLong(f[11]), Long.parseLong(f[12])) : null));
+        }
+        return results;
+    }
+
+    /**
+     * One line per benchmark cell with the sample statistics, all durations in nanoseconds.
+     */
+    public static void writeStatistics(Path path, List<SampleStatistics> statistics) throws IOException {
+        if (path.getParent() != null) {
+            Files.createDirectories(path.getParent());
+        }
+        List<String> lines = new java.util.ArrayList<>();
+        lines.add("method,dataset,threads,device,samples,min_ns,median_ns,mean_ns,p90_ns,p99_ns,stddev_ns,ci95_ns,outliers");
+        for (SampleStatistics s : statistics) {
+            lines.add(String.join(",",
+                    sanitize(s.method()),
+                    sanitize(s.dataset()),
+                    s.threads() == null ? "" : String.valueOf(s.threads()),
+                    sanitize(s.deviceType()),
+                    String.valueOf(s.samples()),
+                    String.valueOf(s.minNanos()),
+                    String.valueOf(s.medianNanos()),
+                    String.valueOf(Math.round(s.meanNanos())),
+                    String.valueOf(s.p90Nanos()),
+                    String.valueOf(s.p99Nanos()),
+                    String.valueOf(Math.round(s.stddevNanos())),
+                    Double.isFinite(s.ci95Nanos()) ? String.valueOf(Math.round(s.ci95Nanos())) : "",
+                    String.valueOf(s.outliers())));
+        }
+        Files.write(path, lines);
+    }
+
+    /**
+     * One line per (execution, word) for multi-word queries.
+     */
+    public static void writeWordCounts(Path path, List<MultiWordCountResult> results) throws IOException {
+        if (path.getParent() != null) {
+            Files.createDirectories(path.getParent());
+        }
+        List<String> lines = new java.util.ArrayList<>();
+        lines.add("method,dataset,word,occurrences,duration_ms,threads,device");
+        for (MultiWordCountResult r : results) {
+            for (var entry : r.counts().entrySet()) {
+                lines.add(String.join(",",
+                        sanitize(r.method()),
+                        sanitize(r.dataset()),
+                        sanitize(entry.getKey()),
+                        String.valueOf(entry.getValue()),
+                        String.valueOf(r.durationMillis()),
+                        r.threads() == null ? "" : String.valueOf(r.threads()),
+                        sanitize(r.deviceType())));
+            }
+        }
+        Files.write(path, lines);
+    }
+
+    /**
+     * Top {@code limit} tokens of each dataset histogram, ranked by count.
+     */
+    public static void writeHistogram(Path path, Map<String, WordHistogram> histograms, int limit) throws IOException {
+        if (path.getParent() != null) {
+            Files.createDirectories(path.getParent());
+        }
+        List<String> lines = new java.util.ArrayList<>();
+        lines.add("dataset,rank,word,count");
+        for (var dataset : histograms.entrySet()) {
+            int rank = 1;
+            for (WordHistogram.Entry entry : dataset.getValue().top(limit)) {
+                lines.add(String.join(",",
+                        sanitize(dataset.getKey()),
+                        String.valueOf(rank++),
+                        sanitize(entry.word()),
+                        String.valueOf(entry.count())));
+            }
+        }
+        Files.write(path, lines);
+    }
+
+    /**
+     * The five phase columns of the main CSV, left empty for counters without OpenCL profiling.
+     */
+    private static String phases(GpuPhases p) {
+        if (p == null) {
+            return ",,,,";
+        }
+        return p.normalizeNanos() + "," + p.buffersNanos() + "," + p.uploadNanos() + "," + p.kernelNanos() + ","
+                + p.readbackNanos();
+    }
+
     private static String sanitize(String value) {
         if (value == null) {
             return "";
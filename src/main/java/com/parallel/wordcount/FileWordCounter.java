@@ -0,0 +1,12 @@
+package com.parallel.wordcount;
+
+import java.nio.file.Path;
+
+/**
+ * Counting strategies that read the dataset straight from disk instead of receiving it as a {@link String}.
+ */
+public interface FileWordCounter {
+    String name();
+
+    WordCountResult count(Path file, String targetWord) throws Exception;
+}
@@ -0,0 +1,55 @@
+package com.parallel.wordcount;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+/**
+ * Chunked parallel counting that folds case inside each worker, so no thread ever waits on a
+ * full-text lowercase copy. Chunks follow the same boundary rule as {@link ParallelCpuCounter}.
+ */
+public class FoldingParallelCpuCounter implements WordCounter {
+
+    private final int threadCount;
+
+    public FoldingParallelCpuCounter(int threadCount) {
+        this.threadCount = Math.max(1, threadCount);
+    }
+
+    @Override
+    public String name() {
+        return "ParallelCPU-Fold";
+    }
+
+    @Override
+    public WordCountResult count(String datasetName, String text, String targetWord) throws ExecutionException, InterruptedException {
+        if (targetWord.isBlank()) {
+            throw new IllegalArgumentException("Target word must not be blank");
+        }
+        ExecutorService executor = Executors.newFixedThreadPool(threadCount);
+        long start = System.nanoTime();
+        String normalizedTarget = targetWord.toLowerCase(Locale.ROOT);
+        // Fallback for non-ASCII targets: exact toLowerCase semantics, paid inside the timed region.
+        String scanned = CaseFolding.isAscii(normalizedTarget) ? text : text.toLowerCase(Locale.ROOT);
+
+        List<Future<Integer>> futures = new ArrayList<>();
+        int[] bounds = ParallelCpuCounter.chunkBounds(scanned.length(), threadCount);
+        for (int i = 0; i + 1 < bounds.length; i++) {
+            int startIdx = bounds[i];
+            int boundary = bounds[i + 1];
+            futures.add(executor.submit(() -> CaseFolding.countFolded(scanned, normalizedTarget, startIdx, boundary)));
+        }
+
+        int occurrences = 0;
+        for (Future<Integer> future : futures) {
+            occurrences += future.get();
+        }
+        executor.shutdown();
+        long elapsed = System.nanoTime() - start;
+        return new WordCountResult(name(), datasetName, occurrences, elapsed, threadCount, "CPU");
+    }
+}
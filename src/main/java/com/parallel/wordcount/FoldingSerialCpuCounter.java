@@ -0,0 +1,51 @@
+package com.parallel.wordcount;
+
+import java.util.Locale;
+
+/**
+ * Serial counting that folds case while scanning instead of lowercasing the whole text first.
+ * The timed region covers all normalization work, including the fallback used for non-ASCII targets.
+ */
+public class FoldingSerialCpuCounter implements WordCounter {
+
+    @Override
+    public String name() {
+        return "SerialCPU-Fold";
+    }
+
+    @Override
+    public WordCountResult count(String datasetName, String text, String targetWord) {
+        if (targetWord.isBlank()) {
+            throw new IllegalArgumentException("Target word must not be blank");
+        }
+        long start = System.nanoTime();
+        int occurrences = countOccurrences(text, targetWord.toLowerCase(Locale.ROOT));
+        long elapsed = System.nanoTime() - start;
+        return new WordCountResult(name(), datasetName, occurrences, elapsed, 1, "CPU");
+    }
+
+    /**
+     * Folding count of an already lowercased target, including the non-ASCII fallback.
+     */
+    static int countOccurrences(String text, String normalizedTarget) {
+        if (CaseFolding.isAscii(normalizedTarget)) {
+            return CaseFolding.countFolded(text, normalizedTarget, 0, text.length());
+        }
+        return countWithFullLowercase(text, normalizedTarget);
+    }
+
+    /**
+     * Non-ASCII targets may hit locale-independent mappings that change length, so they keep
+     * the exact {@code toLowerCase} semantics of {@link SerialCpuCounter}.
+     */
+    private static int countWithFullLowercase(String text, String target) {
+        String normalizedText = text.toLowerCase(Locale.ROOT);
+        int count = 0;
+        int idx = 0;
+        while ((idx = normalizedText.indexOf(target, idx)) != -1) {
+            count++;
+            idx += target.length();
+        }
+        return count;
+    }
+}
@@ -0,0 +1,122 @@
+package com.parallel.wordcount;
+
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Work-stealing counter: a {@link RecursiveTask} halves its range until it reaches the grain size
+ * or enough work is already queued, so idle workers steal the remaining halves instead of waiting
+ * for a fixed chunk to finish. Each leaf reads {@code wordLen - 1} chars past its range and only
+ * counts matches that start inside it. A word that overlaps itself (e.g. "aa") is counted in a single
+ * leaf: non-overlapping matching restarts at every seam, so split ranges could count a run twice.
+ */
+public class ForkJoinCpuCounter implements WordCounter {
+
+    public static final int DEFAULT_GRAIN = 64 * 1024;
+
+    /**
+     * Pools shared across calls and counters, one per parallelism level.
+     */
+    private static final Map<Integer, ForkJoinPool> POOLS = new ConcurrentHashMap<>();
+
+    /**
+     * Stop splitting once a worker already has this many tasks nobody has stolen yet.
+     */
+    private static final int SURPLUS_THRESHOLD = 3;
+
+    private final int threadCount;
+    private final int grainSize;
+
+    public ForkJoinCpuCounter(int threadCount) {
+        this(threadCount, DEFAULT_GRAIN);
+    }
+
+    public ForkJoinCpuCounter(int threadCount, int grainSize) {
+        this.threadCount = Math.max(1, threadCount);
+        this.grainSize = Math.max(1, grainSize);
+    }
+
+    @Override
+    public String name() {
+        return "ForkJoinCPU";
+    }
+
+    @Override
+    public WordCountResult count(String datasetName, String text, String targetWord) {
+        if (targetWord.isBlank()) {
+            throw new IllegalArgumentException("Target word must not be blank");
+        }
+        String normalizedText = text.toLowerCase(Locale.ROOT);
+        String normalizedTarget = targetWord.toLowerCase(Locale.ROOT);
+        ForkJoinPool pool = POOLS.computeIfAbsent(threadCount, ForkJoinPool::new);
+        boolean singleLeaf = AutoCounter.selfOverlaps(normalizedTarget);
+        int grain = singleLeaf ? Integer.MAX_VALUE : grainSize;
+
+        LongAdder splits = new LongAdder();
+        long stealsBefore = pool.getStealCount();
+        long start = System.nanoTime();
+        long occurrences = pool.invoke(new CountTask(normalizedText, normalizedTarget, 0, normalizedText.length(), grain, splits));
+        long elapsed = System.nanoTime() - start;
+        // Pool-wide counter, so concurrent users of the same pool are included.
+        long steals = pool.getStealCount() - stealsBefore;
+
+        String details = "splits=" + splits.sum() + " steals=" + steals + " grain=" + (singleLeaf ? "single_leaf" : String.valueOf(grainSize));
+        return new WordCountResult(name(), datasetName, occurrences, elapsed, threadCount, "CPU", details);
+    }
+
+    private static final class CountTask extends RecursiveTask<Long> {
+        private static final long serialVersionUID = 1L;
+
+        private final String text;
+        private final String target;
+        private final int lo;
+        private final int hi;
+        private final int grain;
+        private final LongAdder splits;
+
+        CountTask(String text, String target, int lo, int hi, int grain, LongAdder splits) {
+            this.text = text;
+            this.target = target;
+            this.lo = lo;
+            this.hi = hi;
+            this.grain = grain;
+            this.splits = splits;
+        }
+
+        @Override
+        protected Long compute() {
+            if (hi - lo <= grain || getSurplusQueuedTaskCount() > SURPLUS_THRESHOLD) {
+                return countRange();
+            }
+            splits.increment();
+            int mid = (lo + hi) >>> 1;
+            CountTask left = new CountTask(text, target, lo, mid, grain, splits);
+            CountTask right = new CountTask(text, target, mid, hi, grain, splits);
+            left.fork();
+            long rightCount = right.compute();
+            return left.join() + rightCount;
+        }
+
+        /**
+         * Bounded scan: unlike an open-ended {@code indexOf}, it never reads further than
+         * {@code hi + wordLen - 1}, which keeps small leaves cheap.
+         */
+        private long countRange() {
+            int wordLen = target.length();
+            int until = Math.min(hi, text.length() - wordLen + 1);
+            char first = target.charAt(0);
+            long count = 0;
+            for (int i = lo; i < until; i++) {
+                if (text.charAt(i) == first && text.startsWith(target, i)) {
+                    count++;
+                    i += wordLen - 1;
+                }
+            }
+            return count;
+        }
+    }
+}
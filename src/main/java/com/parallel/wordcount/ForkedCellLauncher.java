@@ -0,0 +1,85 @@
+package com.parallel.wordcount;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Runs one benchmark cell in a fresh child JVM so JIT profiles, GC state and native driver threads left by
+ * earlier counters cannot affect it. The child is {@link BenchmarkRunner} itself, started with the same
+ * classpath; it writes its samples as CSV to a temporary file that is read back here.
+ */
+public final class ForkedCellLauncher {
+
+    /**
+     * Replaced in the runner arguments by the path of the temporary result file.
+     */
+    static final String OUTPUT_PLACEHOLDER = "{output}";
+    private static final String SKIPPED_MARKER = " ignorado: ";
+
+    private final List<String> jvmOptions;
+
+    public ForkedCellLauncher(List<String> jvmOptions) {
+        this.jvmOptions = List.copyOf(jvmOptions);
+    }
+
+    /**
+     * Starts the child with {@code runnerArgs} and returns the samples it wrote; the child's console output is
+     * only surfaced when it fails.
+     */
+    public List<WordCountResult> run(List<String> runnerArgs) throws IOException, InterruptedException {
+        Path output = Files.createTempFile("wordcount-cell", ".csv");
+        try {
+            List<String> command = new ArrayList<>();
+            command.add(Path.of(System.getProperty("java.home"), "bin", "java").toString());
+            command.addAll(jvmOptions);
+            command.add("-cp");
+            command.add(System.getProperty("java.class.path"));
+            command.add(BenchmarkRunner.class.getName());
+            for (String arg : runnerArgs) {
+                command.add(arg.equals(OUTPUT_PLACEHOLDER) ? output.toString() : arg);
+            }
+
+            Process process = new ProcessBuilder(command).redirectErrorStream(true).start();
+            List<String> log = new ArrayList<>();
+            try (BufferedReader reader = new BufferedReader(
+                    new InputStreamReader(process.getInputStream(), StandardCharsets.UTF_8))) {
+                String line;
+                while ((line = reader.readLine()) != null) {
+                    log.add(line);
+                }
+            }
+            int exit = process.waitFor();
+            if (exit != 0) {
+                String tail = log.isEmpty() ? "" : ": " + log.get(log.size() - 1);
+                throw new IllegalStateException("Child JVM exited with code " + exit + tail);
+            }
+            List<WordCountResult> samples = CsvExporter.read(output);
+            if (samples.isEmpty()) {
+                throw new IllegalStateException("Child JVM produced no samples" + skipReason(log));
+            }
+            return samples;
+        } finally {
+            Files.deleteIfExists(output);
+        }
+    }
+
+    /**
+     * Why the child skipped its cell, taken from the runner's "ignorado" line (e.g. no OpenCL runtime), or else
+     * its last line of output.
+     */
+    private static String skipReason(List<String> log) {
+        for (int i = log.size() - 1; i >= 0; i--) {
+            int marker = log.get(i).indexOf(SKIPPED_MARKER);
+            if (marker >= 0) {
+                return ": " + log.get(i).substring(marker + SKIPPED_MARKER.length()).trim();
+            }
+        }
+        return log.isEmpty() ? "" : ": " + log.get(log.size() - 1).trim();
+    }
+}
@@ -0,0 +1,135 @@
+package com.parallel.wordcount;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.List;
+import java.util.Properties;
+import java.util.function.ToLongFunction;
+
+/**
+ * Picks and remembers the work-group size and items per work-item of a kernel on one device.
+ *
+ * <p>Choices are keyed by {@link ProgramBinaryCache#programKey program key} plus kernel name, so a new driver or
+ * an edited kernel is tuned again, and persisted in {@value #TUNING_FILE_PROPERTY} (default
+ * {@code tuning.properties} in the program binary cache directory). Without a file, e.g. with the binary cache
+ * {@code off}, every process tunes once in memory.
+ */
+final class GpuKernelTuner {
+
+    static final String TUNING_FILE_PROPERTY = "wordcount.opencl.tuning-file";
+    /**
+     * Timed launches per candidate after one untimed launch; the fastest one counts.
+     */
+    private static final int ROUNDS = 3;
+
+    private static Properties persisted;
+
+    private GpuKernelTuner() {
+    }
+
+    record Config(int localSize, int itemsPerThread) {
+
+        String encode() {
+            return localSize + "," + itemsPerThread;
+        }
+
+        static Config decode(String value) {
+            String[] parts = value.split(",");
+            return new Config(Integer.parseInt(parts[0].trim()), Integer.parseInt(parts[1].trim()));
+        }
+    }
+
+    /**
+     * Configuration of a kernel, with whether it came from the tuning file.
+     */
+    record Tuned(Config config, boolean persisted) {
+
+        String describe() {
+            return "local=" + config.localSize() + " items=" + config.itemsPerThread()
+                    + (persisted ? " tuning=saved" : " tuning=measured");
+        }
+    }
+
+    /**
+     * Saved configuration for {@code key} when it is still a candidate, otherwise the fastest candidate by
+     * {@code launchNanos}, which is then saved.
+     */
+    static synchronized Tuned tune(String key, List<Config> candidates, ToLongFunction<Config> launchNanos) {
+        if (candidates.isEmpty()) {
+            throw new IllegalArgumentException("No kernel configurations to tune");
+        }
+        Properties properties = persisted();
+        String saved = properties.getProperty(key);
+        if (saved != null) {
+            try {
+                Config config = Config.decode(saved);
+                if (candidates.contains(config)) {
+                    return new Tuned(config, true);
+                }
+            } catch (RuntimeException e) {
+                // Unreadable entry: tune again and overwrite it.
+            }
+        }
+        Config best = null;
+        long bestNanos = Long.MAX_VALUE;
+        for (Config candidate : candidates) {
+            launchNanos.applyAsLong(candidate);
+            long fastest = Long.MAX_VALUE;
+            for (int round = 0; round < ROUNDS; round++) {
+                fastest = Math.min(fastest, launchNanos.applyAsLong(candidate));
+            }
+            if (fastest < bestNanos) {
+                bestNanos = fastest;
+                best = candidate;
+            }
+        }
+        properties.setProperty(key, best.encode());
+        save(properties);
+        return new Tuned(best, false);
+    }
+
+    private static Properties persisted() {
+        if (persisted == null) {
+            persisted = new Properties();
+            Path file = tuningFile();
+            if (file != null && Files.isRegularFile(file)) {
+                try (InputStream in = Files.newInputStream(file)) {
+                    persisted.load(in);
+                } catch (IOException | IllegalArgumentException e) {
+                    persisted.clear();
+                }
+            }
+        }
+        return persisted;
+    }
+
+    private static void save(Properties properties) {
+        Path file = tuningFile();
+        if (file == null) {
+            return;
+        }
+        try {
+            if (file.getParent() != null) {
+                Files.createDirectories(file.getParent());
+            }
+            try (OutputStream out = Files.newOutputStream(file)) {
+                properties.store(out, "OpenCL kernel autotuning: <program key>.<kernel>=<local size>,<items per work-item>");
+            }
+        } catch (IOException e) {
+            // Best effort, like the binary cache: the next process tunes again.
+        }
+    }
+
+    private static Path tuningFile() {
+        String configured = System.getProperty(TUNING_FILE_PROPERTY, "").trim();
+        if (!configured.isEmpty()) {
+            return Paths.get(configured);
+        }
+        Path dir = ProgramBinaryCache.cacheDir();
+        return dir == null ? null : dir.resolve("tuning.properties");
+    }
+}
@@ -0,0 +1,213 @@
+package com.parallel.wordcount;
+
+import org.jocl.CL;
+import org.jocl.Pointer;
+import org.jocl.Sizeof;
+import org.jocl.cl_command_queue;
+import org.jocl.cl_context;
+import org.jocl.cl_context_properties;
+import org.jocl.cl_device_id;
+import org.jocl.cl_kernel;
+import org.jocl.cl_mem;
+import org.jocl.cl_program;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import static org.jocl.CL.*;
+
+/**
+ * Counts a batch of words on the OpenCL device with one text upload and one kernel launch.
+ *
+ * <p>The words travel as a packed table: their UTF-8 bytes back to back plus an offset and a length per word.
+ * Every work-item tests its text position against the whole table and bumps a per-word counter in local
+ * memory; after the barrier each work-group adds its non-zero counters to the global ones, so global atomics
+ * grow with the number of groups and words, not with the number of matches. A batch larger than the
+ * device's local memory holds is split into several launches over the same uploaded text.
+ *
+ * <p>The kernel counts overlapping matches while the CPU counters do not, so words that overlap themselves
+ * (e.g. "aa") are counted with an {@link AhoCorasickAutomaton} on the CPU instead, keeping the result equal to
+ * {@link AhoCorasickCounter}.
+ */
+public class GpuMultiWordCounter implements MultiWordCounter {
+
+    private static final Map<String, CachedResources> CACHE = new ConcurrentHashMap<>();
+
+    static final String KERNEL_SOURCE = """
+            __kernel void countWordsBatch(__global const uchar* text,
+                                          const int textLen,
+                                          __global const uchar* words,
+                                          __global const int* wordOffsets,
+                                          __global const int* wordLens,
+                                          const int firstWord,
+                                          const int wordCount,
+                                          __global int* counters,
+                                          __local int* localCounts) {
+                int gid = get_global_id(0);
+                int lid = get_local_id(0);
+                int groupSize = get_local_size(0);
+                for (int w = lid; w < wordCount; w += groupSize) {
+                    localCounts[w] = 0;
+                }
+                barrier(CLK_LOCAL_MEM_FENCE);
+
+                if (gid < textLen) {
+                    uchar first = text[gid];
+                    for (int w = 0; w < wordCount; w++) {
+                        int offset = wordOffsets[firstWord + w];
+                        int len = wordLens[firstWord + w];
+                        if (words[offset] != first || gid + len > textLen) {
+                            continue;
+                        }
+                        int match = 1;
+                        for (int i = 1; i < len; i++) {
+                            if (text[gid + i] != words[offset + i]) {
+                                match = 0;
+                                break;
+                            }
+                        }
+                        if (match) {
+                            atomic_inc(&localCounts[w]);
+                        }
+                    }
+                }
+                barrier(CLK_LOCAL_MEM_FENCE);
+
+                for (int w = lid; w < wordCount; w += groupSize) {
+                    if (localCounts[w] != 0) {
+                        atomic_add(&counters[firstWord + w], localCounts[w]);
+                    }
+                }
+            }
+            """;
+
+    @Override
+    public String name() {
+        return "ParallelGPU-Multi";
+    }
+
+    @Override
+    public MultiWordCountResult count(String datasetName, String text, List<String> targetWords) {
+        List<String> words = List.copyOf(new LinkedHashSet<>(AhoCorasickAutomaton.normalize(targetWords)));
+        if (words.isEmpty()) {
+            throw new IllegalArgumentException("Target words must not be empty");
+        }
+        List<String> gpuWords = new ArrayList<>();
+        List<String> cpuWords = new ArrayList<>();
+        for (String word : words) {
+            (AutoCounter.selfOverlaps(word) ? cpuWords : gpuWords).add(word);
+        }
+        String normalizedText = text.toLowerCase(Locale.ROOT);
+        byte[] textBytes = normalizedText.getBytes(StandardCharsets.UTF_8);
+
+        CL.setExceptionsEnabled(true);
+        OpenClSupport.Device device = OpenClSupport.selectDevice();
+        long start = System.nanoTime();
+        Map<String, Long> found = new LinkedHashMap<>();
+        if (!gpuWords.isEmpty() && textBytes.length > 0) {
+            int[] counts = runBatch(device, textBytes, gpuWords);
+            for (int i = 0; i < counts.length; i++) {
+                found.put(gpuWords.get(i), (long) counts[i]);
+            }
+        }
+        if (!cpuWords.isEmpty()) {
+            AhoCorasickAutomaton automaton = AhoCorasickAutomaton.build(cpuWords);
+            found.putAll(automaton.toMap(automaton.count(normalizedText, 0, normalizedText.length())));
+        }
+        long elapsed = System.nanoTime() - start;
+
+        Map<String, Long> counts = new LinkedHashMap<>();
+        for (String word : words) {
+            counts.put(word, found.getOrDefault(word, 0L));
+        }
+        return new MultiWordCountResult(name(), datasetName, counts, elapsed, null, device.label());
+    }
+
+    /**
+     * Overlapping match counts of each word in {@code textBytes}, in the order of {@code words}. The text and the
+     * packed word table are uploaded once; launches are only repeated when the table exceeds local memory.
+     */
+    static int[] runBatch(OpenClSupport.Device device, byte[] textBytes, List<String> words) {
+        CachedResources resources = CACHE.computeIfAbsent(device.name(), k -> buildResources(device));
+        cl_context context = resources.context();
+        cl_command_queue queue = resources.queue();
+        cl_kernel kernel = resources.kernel();
+
+        ByteArrayOutputStream packed = new ByteArrayOutputStream();
+        int[] offsets = new int[words.size()];
+        int[] lengths = new int[words.size()];
+        for (int w = 0; w < words.size(); w++) {
+            byte[] bytes = words.get(w).getBytes(StandardCharsets.UTF_8);
+            offsets[w] = packed.size();
+            lengths[w] = bytes.length;
+            packed.writeBytes(bytes);
+        }
+        byte[] table = packed.toByteArray();
+        int[] counts = new int[words.size()];
+
+        cl_mem textMem = clCreateBuffer(context, CL_MEM_READ_ONLY | CL_MEM_COPY_HOST_PTR,
+                (long) Sizeof.cl_char * textBytes.length, Pointer.to(textBytes), null);
+        cl_mem wordsMem = clCreateBuffer(context, CL_MEM_READ_ONLY | CL_MEM_COPY_HOST_PTR,
+                (long) Sizeof.cl_char * table.length, Pointer.to(table), null);
+        cl_mem offsetsMem = clCreateBuffer(context, CL_MEM_READ_ONLY | CL_MEM_COPY_HOST_PTR,
+                (long) Sizeof.cl_int * offsets.length, Pointer.to(offsets), null);
+        cl_mem lengthsMem = clCreateBuffer(context, CL_MEM_READ_ONLY | CL_MEM_COPY_HOST_PTR,
+                (long) Sizeof.cl_int * lengths.length, Pointer.to(lengths), null);
+        cl_mem countersMem = clCreateBuffer(context, CL_MEM_READ_WRITE | CL_MEM_COPY_HOST_PTR,
+                (long) Sizeof.cl_int * counts.length, Pointer.to(counts), null);
+        try {
+            clSetKernelArg(kernel, 0, Sizeof.cl_mem, Pointer.to(textMem));
+            clSetKernelArg(kernel, 1, Sizeof.cl_int, Pointer.to(new int[]{textBytes.length}));
+            clSetKernelArg(kernel, 2, Sizeof.cl_mem, Pointer.to(wordsMem));
+            clSetKernelArg(kernel, 3, Sizeof.cl_mem, Pointer.to(offsetsMem));
+            clSetKernelArg(kernel, 4, Sizeof.cl_mem, Pointer.to(lengthsMem));
+            clSetKernelArg(kernel, 7, Sizeof.cl_mem, Pointer.to(countersMem));
+
+            long[] globalWorkSize = new long[]{ParallelGpuOptimizedCounter.roundUp(
+                    ParallelGpuOptimizedCounter.LOCAL_SIZE, textBytes.length)};
+            long[] localWorkSize = new long[]{ParallelGpuOptimizedCounter.LOCAL_SIZE};
+            for (int first = 0; first < words.size(); first += resources.wordsPerLaunch()) {
+                int batch = Math.min(resources.wordsPerLaunch(), words.size() - first);
+                clSetKernelArg(kernel, 5, Sizeof.cl_int, Pointer.to(new int[]{first}));
+                clSetKernelArg(kernel, 6, Sizeof.cl_int, Pointer.to(new int[]{batch}));
+                clSetKernelArg(kernel, 8, (long) Sizeof.cl_int * batch, null);
+                clEnqueueNDRangeKernel(queue, kernel, 1, null, globalWorkSize, localWorkSize, 0, null, null);
+            }
+            clEnqueueReadBuffer(queue, countersMem, CL_TRUE, 0, (long) Sizeof.cl_int * counts.length,
+                    Pointer.to(counts), 0, null, null);
+        } finally {
+            clReleaseMemObject(textMem);
+            clReleaseMemObject(wordsMem);
+            clReleaseMemObject(offsetsMem);
+            clReleaseMemObject(lengthsMem);
+            clReleaseMemObject(countersMem);
+        }
+        return counts;
+    }
+
+    private static CachedResources buildResources(OpenClSupport.Device device) {
+        cl_context_properties contextProperties = new cl_context_properties();
+        contextProperties.addProperty(CL_CONTEXT_PLATFORM, device.platform());
+        cl_context context = clCreateContext(
+                contextProperties, 1, new cl_device_id[]{device.id()}, null, null, null);
+
+        cl_command_queue queue = OpenClSupport.createProfilingQueue(context, device.id());
+
+        cl_program program = ProgramBinaryCache.build(context, device, KERNEL_SOURCE);
+        cl_kernel kernel = clCreateKernel(program, "countWordsBatch", null);
+        int wordsPerLaunch = (int) Math.max(1, Math.min(Integer.MAX_VALUE,
+                OpenClSupport.localMemBytes(device.id()) / Sizeof.cl_int));
+        return new CachedResources(context, queue, program, kernel, wordsPerLaunch);
+    }
+
+    private record CachedResources(cl_context context, cl_command_queue queue, cl_program program, cl_kernel kernel,
+                                   int wordsPerLaunch) {
+    }
+}
@@ -0,0 +1,34 @@
+package com.parallel.wordcount;
+
+import java.util.Locale;
+
+/**
+ * Where the time of one OpenCL count went, in nanoseconds.
+ *
+ * <p>{@code normalizeNanos} (lowercasing and UTF-8 encoding) and {@code buffersNanos} ({@code clCreateBuffer}
+ * calls) are measured on the host; {@code uploadNanos}, {@code kernelNanos} and {@code readbackNanos} come from
+ * OpenCL event profiling ({@code CL_PROFILING_COMMAND_START} to {@code END}), so they exclude queueing delays.
+ * Counters that overlap phases (e.g. streaming chunks) report the sum over all commands, which can exceed the
+ * wall-clock duration.
+ */
+public record GpuPhases(long normalizeNanos, long buffersNanos, long uploadNanos, long kernelNanos,
+                        long readbackNanos) {
+
+    public GpuPhases plus(GpuPhases other) {
+        return new GpuPhases(normalizeNanos + other.normalizeNanos, buffersNanos + other.buffersNanos,
+                uploadNanos + other.uploadNanos, kernelNanos + other.kernelNanos, readbackNanos + other.readbackNanos);
+    }
+
+    public GpuPhases withNormalize(long nanos) {
+        return new GpuPhases(nanos, buffersNanos, uploadNanos, kernelNanos, readbackNanos);
+    }
+
+    /**
+     * Compact one-line form in milliseconds, for logs and the UI table.
+     */
+    public String describe() {
+        return String.format(Locale.ROOT, "norm %.3f | buffers %.3f | h2d %.3f | kernel %.3f | d2h %.3f",
+                normalizeNanos / 1_000_000.0, buffersNanos / 1_000_000.0, uploadNanos / 1_000_000.0,
+                kernelNanos / 1_000_000.0, readbackNanos / 1_000_000.0);
+    }
+}
@@ -0,0 +1,197 @@
+package com.parallel.wordcount;
+
+import org.jocl.CL;
+import org.jocl.cl_mem;
+
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Locale;
+import java.util.function.Consumer;
+import java.util.function.Function;
+
+/**
+ * Device-resident dataset texts of one OpenCL device, bounded by a byte budget.
+ *
+ * <p>Entries are keyed by dataset name and validated by length and {@link CountCache#contentHash(byte[]) content
+ * hash}, so an edited dataset is uploaded again even when its size did not change. When a new text does not fit,
+ * least recently used entries are evicted and their buffers freed with {@code clReleaseMemObject}. A text larger
+ * than the whole budget is uploaded for the current call only.
+ *
+ * <p>Callers hold a {@link Lease} while a kernel reads the buffer; leased entries are never freed under them,
+ * eviction skips them and a stale or evicted leased buffer is released when its last lease closes.
+ */
+public final class GpuTextCache {
+
+    private final long budgetBytes;
+    private final Consumer<cl_mem> releaser;
+    private final LinkedHashMap<String, Entry> entries = new LinkedHashMap<>(16, 0.75f, true);
+    private long residentBytes;
+    private long hits;
+    private long misses;
+    private long evictions;
+    private long invalidations;
+
+    public GpuTextCache(long budgetBytes) {
+        this(budgetBytes, CL::clReleaseMemObject);
+    }
+
+    GpuTextCache(long budgetBytes, Consumer<cl_mem> releaser) {
+        if (budgetBytes < 1) {
+            throw new IllegalArgumentException("Cache budget must be positive");
+        }
+        this.budgetBytes = budgetBytes;
+        this.releaser = releaser;
+    }
+
+    /**
+     * Buffer holding {@code text} for {@code dataset}, uploading it with {@code upload} on a miss. The lease must
+     * be closed once the commands reading the buffer have finished.
+     */
+    public synchronized Lease acquire(String dataset, byte[] text, Function<byte[], cl_mem> upload) {
+        long contentHash = CountCache.contentHash(text);
+        Entry entry = entries.get(dataset);
+        if (entry != null && entry.length == text.length && entry.contentHash == contentHash) {
+            hits++;
+            entry.leases++;
+            return new Lease(entry, true);
+        }
+        misses++;
+        if (entry != null) {
+            entries.remove(dataset);
+            invalidations++;
+            retire(entry);
+        }
+        boolean fits = text.length <= budgetBytes;
+        if (fits) {
+            evictDownTo(budgetBytes - text.length);
+        }
+        Entry created = new Entry(upload.apply(text), text.length, contentHash, fits);
+        created.leases = 1;
+        if (fits) {
+            entries.put(dataset, created);
+            residentBytes += created.length;
+        } else {
+            created.retired = true;
+        }
+        return new Lease(created, false);
+    }
+
+    /**
+     * Frees every buffer that is not leased; leased ones follow when their lease closes.
+     */
+    public synchronized void clear() {
+        for (Entry entry : entries.values()) {
+            retire(entry);
+        }
+        invalidations += entries.size();
+        entries.clear();
+    }
+
+    public synchronized Stats stats() {
+        return new Stats(residentBytes, budgetBytes, entries.size(), hits, misses, evictions, invalidations);
+    }
+
+    private void evictDownTo(long limit) {
+        Iterator<Entry> lru = entries.values().iterator();
+        while (residentBytes > limit && lru.hasNext()) {
+            Entry eldest = lru.next();
+            if (eldest.leases > 0) {
+                continue;
+            }
+            lru.remove();
+            evictions++;
+            retire(eldest);
+        }
+    }
+
+    private void retire(Entry entry) {
+        entry.retired = true;
+        if (entry.leases == 0) {
+            release(entry);
+        }
+    }
+
+    private void release(Entry entry) {
+        releaser.accept(entry.mem);
+        if (entry.resident) {
+            residentBytes -= entry.length;
+        }
+    }
+
+    private synchronized void close(Entry entry) {
+        entry.leases--;
+        if (entry.retired && entry.leases == 0) {
+            release(entry);
+        }
+        // A lease may have blocked the last eviction; catch up now that the entry can go.
+        evictDownTo(budgetBytes);
+    }
+
+    /**
+     * A buffer in use by one count. {@code hit} tells whether the text was already resident.
+     */
+    public final class Lease implements AutoCloseable {
+
+        private final Entry entry;
+        private final boolean hit;
+        private boolean closed;
+
+        private Lease(Entry entry, boolean hit) {
+            this.entry = entry;
+            this.hit = hit;
+        }
+
+        public cl_mem mem() {
+            return entry.mem;
+        }
+
+        public int length() {
+            return entry.length;
+        }
+
+        public boolean hit() {
+            return hit;
+        }
+
+        @Override
+        public void close() {
+            if (!closed) {
+                closed = true;
+                GpuTextCache.this.close(entry);
+            }
+        }
+    }
+
+    public record Stats(long residentBytes, long budgetBytes, int entries, long hits, long misses, long evictions,
+                        long invalidations) {
+
+        public double hitRate() {
+            long lookups = hits + misses;
+            return lookups == 0 ? 0.0 : (double) hits / lookups;
+        }
+
+        @Override
+        public String toString() {
+            return String.format(Locale.ROOT,
+                    "resident_bytes=%d budget_bytes=%d entries=%d hits=%d misses=%d hit_rate=%.2f evictions=%d invalidations=%d",
+                    residentBytes, budgetBytes, entries, hits, misses, hitRate(), evictions, invalidations);
+        }
+    }
+
+    private static final class Entry {
+
+        private final cl_mem mem;
+        private final int length;
+        private final long contentHash;
+        private final boolean resident;
+        private int leases;
+        private boolean retired;
+
+        private Entry(cl_mem mem, int length, long contentHash, boolean resident) {
+            this.mem = mem;
+            this.length = length;
+            this.contentHash = contentHash;
+            this.resident = resident;
+        }
+    }
+}
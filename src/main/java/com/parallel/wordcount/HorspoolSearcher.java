@@ -0,0 +1,51 @@
+package com.parallel.wordcount;
+
+import java.util.Arrays;
+
+/**
+ * Boyer-Moore-Horspool search. The bad-character table is indexed by the low byte of each char;
+ * chars sharing a bucket keep the smallest shift, so the table stays 256 entries for any alphabet.
+ */
+final class HorspoolSearcher implements Searcher {
+
+    final char[] pattern;
+    final int[] shift = new int[256];
+
+    HorspoolSearcher(String pattern) {
+        this.pattern = pattern.toCharArray();
+        int m = this.pattern.length;
+        Arrays.fill(shift, m);
+        for (int i = 0; i < m - 1; i++) {
+            shift[this.pattern[i] & 0xFF] = m - 1 - i;
+        }
+    }
+
+    @Override
+    public int patternLength() {
+        return pattern.length;
+    }
+
+    @Override
+    public int indexOf(String text, int from, int limit) {
+        int m = pattern.length;
+        int last = Math.min(limit, text.length() - m + 1);
+        int j = from;
+        while (j < last) {
+            char tail = text.charAt(j + m - 1);
+            if (tail == pattern[m - 1] && matchesPrefix(text, j)) {
+                return j;
+            }
+            j += shift[tail & 0xFF];
+        }
+        return -1;
+    }
+
+    private boolean matchesPrefix(String text, int offset) {
+        for (int i = 0; i < pattern.length - 1; i++) {
+            if (text.charAt(offset + i) != pattern[i]) {
+                return false;
+            }
+        }
+        return true;
+    }
+}
@@ -0,0 +1,147 @@
+package com.parallel.wordcount;
+
+import org.jocl.CL;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Co-executes one count on the OpenCL device and on CPU worker threads at the same time.
+ *
+ * <p>The UTF-8 text is cut at a split point: the device counts matches starting before it, the CPU threads
+ * (chunked like {@link ParallelCpuCounter}) count matches starting at or after it. The device buffer extends
+ * {@code wordLen - 1} bytes past the split, and every CPU chunk may read past its own boundary, so a word
+ * crossing the seam is counted exactly once, by the side owning its first byte.
+ *
+ * <p>The device share starts at one half and after every call moves towards the share that would have made
+ * both sides finish together, given the bytes per nanosecond each side just achieved. An instance therefore
+ * converges over the warmup and sample runs of a benchmark cell; it is not thread-safe.
+ *
+ * <p>The OpenCL kernel counts overlapping matches while the CPU counters do not, so targets that overlap
+ * themselves (e.g. "aa") are counted on the CPU only.
+ */
+public class HybridCpuGpuCounter implements WordCounter {
+
+    static final double INITIAL_GPU_SHARE = 0.5;
+    /**
+     * Bounds keep a few percent of the text on each side, so both throughputs stay observable.
+     */
+    static final double MIN_GPU_SHARE = 0.02;
+    static final double MAX_GPU_SHARE = 0.98;
+    /**
+     * Weight of the newest observation in the moving share; the rest smooths timing noise.
+     */
+    private static final double SMOOTHING = 0.5;
+
+    private final int threadCount;
+    private double gpuShare = INITIAL_GPU_SHARE;
+
+    public HybridCpuGpuCounter(int threadCount) {
+        this.threadCount = Math.max(1, threadCount);
+    }
+
+    @Override
+    public String name() {
+        return "HybridCPU+GPU";
+    }
+
+    public double gpuShare() {
+        return gpuShare;
+    }
+
+    @Override
+    public WordCountResult count(String datasetName, String text, String targetWord)
+            throws ExecutionException, InterruptedException {
+        if (targetWord.isBlank()) {
+            throw new IllegalArgumentException("Target word must not be blank");
+        }
+        long normalizeStart = System.nanoTime();
+        String normalizedTarget = targetWord.toLowerCase(Locale.ROOT);
+        byte[] textBytes = text.toLowerCase(Locale.ROOT).getBytes(StandardCharsets.UTF_8);
+        byte[] wordBytes = normalizedTarget.getBytes(StandardCharsets.UTF_8);
+        long normalizeNanos = System.nanoTime() - normalizeStart;
+        boolean cpuOnly = AutoCounter.selfOverlaps(normalizedTarget);
+
+        CL.setExceptionsEnabled(true);
+        OpenClSupport.Device device = OpenClSupport.selectDevice();
+        double share = cpuOnly ? 0 : gpuShare;
+        int split = splitPoint(textBytes.length, wordBytes.length, share);
+
+        ExecutorService executor = Executors.newFixedThreadPool(threadCount);
+        long start = System.nanoTime();
+        AtomicLong cpuDone = new AtomicLong(start);
+        List<Future<Integer>> futures = new ArrayList<>();
+        int[] bounds = ParallelCpuCounter.chunkBounds(textBytes.length - split, threadCount);
+        for (int i = 0; i + 1 < bounds.length && split < textBytes.length; i++) {
+            int from = split + bounds[i];
+            int to = split + bounds[i + 1];
+            futures.add(executor.submit(() -> {
+                int found = CaseFolding.countFolded(textBytes, wordBytes, from, to);
+                cpuDone.accumulateAndGet(System.nanoTime(), Math::max);
+                return found;
+            }));
+        }
+
+        long occurrences = 0;
+        long gpuNanos = 0;
+        GpuPhases phases = null;
+        try {
+            if (split > 0) {
+                int gpuLength = Math.min(textBytes.length, split + wordBytes.length - 1);
+                OpenClSupport.KernelRun run = ParallelGpuOptimizedCounter.runKernel(device, textBytes, gpuLength, wordBytes);
+                occurrences += run.occurrences();
+                phases = run.phases().withNormalize(normalizeNanos);
+                gpuNanos = System.nanoTime() - start;
+            }
+            for (Future<Integer> future : futures) {
+                occurrences += future.get();
+            }
+        } finally {
+            executor.shutdown();
+        }
+        long elapsed = System.nanoTime() - start;
+        long cpuNanos = cpuDone.get() - start;
+
+        if (!cpuOnly) {
+            gpuShare = nextShare(gpuShare, split, gpuNanos, textBytes.length - split, cpuNanos);
+        }
+        String details = String.format(Locale.ROOT, "gpu_share=%.3f next=%.3f gpu_bytes=%d gpu_ms=%.3f cpu_ms=%.3f%s",
+                share, gpuShare, split, gpuNanos / 1_000_000.0, cpuNanos / 1_000_000.0,
+                cpuOnly ? " cpu_only=self-overlapping word" : "");
+        return new WordCountResult(name(), datasetName, occurrences, elapsed, threadCount,
+                "CPU+" + device.label(), details, phases);
+    }
+
+    /**
+     * First byte owned by the CPU side for a device share of {@code share}. Texts shorter than the word
+     * have no match at all and stay on the CPU.
+     */
+    static int splitPoint(int textLength, int wordLength, double share) {
+        if (textLength < wordLength) {
+            return 0;
+        }
+        return (int) Math.round(textLength * share);
+    }
+
+    /**
+     * Share that equalizes both finishing times at the observed rates, blended into the current one.
+     * A side that got no bytes (or took no measurable time) leaves the share unchanged.
+     */
+    static double nextShare(double current, long gpuBytes, long gpuNanos, long cpuBytes, long cpuNanos) {
+        if (gpuBytes <= 0 || cpuBytes <= 0 || gpuNanos <= 0 || cpuNanos <= 0) {
+            return current;
+        }
+        double gpuRate = (double) gpuBytes / gpuNanos;
+        double cpuRate = (double) cpuBytes / cpuNanos;
+        double balanced = gpuRate / (gpuRate + cpuRate);
+        double blended = SMOOTHING * balanced + (1 - SMOOTHING) * current;
+        return Math.max(MIN_GPU_SHARE, Math.min(MAX_GPU_SHARE, blended));
+    }
+}
@@ -0,0 +1,24 @@
+package com.parallel.wordcount;
+
+/**
+ * Baseline {@link String#indexOf(String, int)} wrapped as a {@link Searcher}.
+ */
+final class IndexOfSearcher implements Searcher {
+
+    private final String pattern;
+
+    IndexOfSearcher(String pattern) {
+        this.pattern = pattern;
+    }
+
+    @Override
+    public int patternLength() {
+        return pattern.length();
+    }
+
+    @Override
+    public int indexOf(String text, int from, int limit) {
+        int idx = text.indexOf(pattern, from);
+        return idx < limit ? idx : -1;
+    }
+}
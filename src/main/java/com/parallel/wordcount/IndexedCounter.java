@@ -0,0 +1,130 @@
+package com.parallel.wordcount;
+
+import java.io.IOException;
+import java.lang.ref.WeakReference;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Answers repeat queries from the persistent index built by {@link InvertedIndexBuilder} instead of rescanning
+ * the text. The index for dataset {@code name} is the newest generation {@code <indexDir>/<name>.<n>.idx}.
+ *
+ * <p>Falls back to {@link FoldingSerialCpuCounter} (same results) when the index is missing or was built from
+ * other text (length or {@link CountCache#contentHash content hash} differ), or when the target is non-ASCII or
+ * contains separator bytes and could therefore span tokens. The path taken is reported in {@code details}. The
+ * hash of a text is computed once per {@link String} instance and reused by later queries on it.
+ *
+ * <p>An indexed answer scans the whole dictionary ({@link InvertedIndex#countOccurrences}), so it costs time
+ * proportional to the number of distinct terms rather than to the text length.
+ */
+public class IndexedCounter implements WordCounter, AutoCloseable {
+
+    private final Path indexDir;
+    private final Map<String, InvertedIndex> openIndexes = new ConcurrentHashMap<>();
+    private final Map<String, TextHash> textHashes = new ConcurrentHashMap<>();
+
+    public IndexedCounter(Path indexDir) {
+        this.indexDir = indexDir;
+    }
+
+    @Override
+    public String name() {
+        return "IndexedCPU";
+    }
+
+    @Override
+    public WordCountResult count(String datasetName, String text, String targetWord) throws IOException {
+        if (targetWord.isBlank()) {
+            throw new IllegalArgumentException("Target word must not be blank");
+        }
+        long start = System.nanoTime();
+        String normalizedTarget = targetWord.toLowerCase(Locale.ROOT);
+        InvertedIndex index = indexFor(datasetName);
+        long occurrences;
+        String details;
+        if (index == null) {
+            occurrences = FoldingSerialCpuCounter.countOccurrences(text, normalizedTarget);
+            details = "fallback=no_index";
+        } else if (index.sourceChars() != text.length() || index.sourceHash() != contentHash(datasetName, text)) {
+            occurrences = FoldingSerialCpuCounter.countOccurrences(text, normalizedTarget);
+            details = "fallback=stale_index";
+        } else if (!isIndexable(normalizedTarget)) {
+            occurrences = FoldingSerialCpuCounter.countOccurrences(text, normalizedTarget);
+            details = "fallback=target_not_token";
+        } else {
+            InvertedIndex.SubstringCount answer = index.countOccurrences(InvertedIndex.fold(normalizedTarget));
+            occurrences = answer.occurrences();
+            details = "terms=" + index.termCount() + " matching_terms=" + answer.matchingTerms();
+        }
+        long elapsed = System.nanoTime() - start;
+        return new WordCountResult(name(), datasetName, occurrences, elapsed, 1, "CPU", details);
+    }
+
+    /**
+     * Only ASCII token characters are safe: anything else may match across a token boundary.
+     */
+    static boolean isIndexable(String normalizedTarget) {
+        for (int i = 0; i < normalizedTarget.length(); i++) {
+            char c = normalizedTarget.charAt(i);
+            if (c >= 0x80 || !WordHistogramEngine.isTokenByte((byte) c)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private long contentHash(String datasetName, String text) {
+        TextHash known = textHashes.get(datasetName);
+        if (known != null && known.text().get() == text) {
+            return known.hash();
+        }
+        long hash = CountCache.contentHash(text.getBytes(StandardCharsets.UTF_8));
+        textHashes.put(datasetName, new TextHash(new WeakReference<>(text), hash));
+        return hash;
+    }
+
+    private InvertedIndex indexFor(String datasetName) throws IOException {
+        InvertedIndex cached = openIndexes.get(datasetName);
+        if (cached != null) {
+            return cached;
+        }
+        Path indexFile = InvertedIndexBuilder.currentIndexFile(indexDir, datasetName);
+        if (indexFile == null) {
+            return null;
+        }
+        InvertedIndex opened = InvertedIndex.open(indexFile);
+        InvertedIndex previous = openIndexes.putIfAbsent(datasetName, opened);
+        if (previous != null) {
+            opened.close();
+            return previous;
+        }
+        return opened;
+    }
+
+    /**
+     * Drops the open index of {@code datasetName}, so the next query opens the newest generation.
+     */
+    public void invalidate(String datasetName) throws IOException {
+        InvertedIndex removed = openIndexes.remove(datasetName);
+        if (removed != null) {
+            removed.close();
+        }
+    }
+
+    @Override
+    public void close() throws IOException {
+        for (InvertedIndex index : openIndexes.values()) {
+            index.close();
+        }
+        openIndexes.clear();
+    }
+
+    /**
+     * Hash of the last text seen for a dataset; weak, so the counter does not keep whole datasets alive.
+     */
+    private record TextHash(WeakReference<String> text, long hash) {
+    }
+}
@@ -0,0 +1,191 @@
+package com.parallel.wordcount;
+
+import java.io.IOException;
+import java.nio.MappedByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.util.Arrays;
+
+/**
+ * Read-only, memory-mapped view of an index written by {@link InvertedIndexBuilder}.
+ *
+ * <p>Terms are folded tokens, so any ASCII target made only of token bytes can never span two tokens:
+ * its count in the text equals the sum, over every term containing it, of the greedy count inside the
+ * term times the term frequency. {@link #countOccurrences(byte[])} answers that from the dictionary alone,
+ * without touching the postings or the source text.
+ */
+public final class InvertedIndex implements AutoCloseable {
+
+    private final MappedText file;
+    private final MappedByteBuffer buffer;
+    private final long sourceBytes;
+    private final long sourceChars;
+    private final long sourceModified;
+    private final long sourceHash;
+    private final int termCount;
+    private final int entriesOffset;
+    private final int termsOffset;
+    private final int postingsOffset;
+    private final byte[] terms;
+
+    private InvertedIndex(MappedText file) throws IOException {
+        this.file = file;
+        this.buffer = file.window(0, file.size());
+        if (file.size() < InvertedIndexBuilder.HEADER_BYTES
+                || buffer.getInt(0) != InvertedIndexBuilder.MAGIC
+                || buffer.getInt(4) != InvertedIndexBuilder.VERSION) {
+            throw new IllegalStateException("Not a word index (or unsupported version)");
+        }
+        this.sourceBytes = buffer.getLong(8);
+        this.sourceChars = buffer.getLong(16);
+        this.sourceModified = buffer.getLong(24);
+        this.termCount = buffer.getInt(32);
+        this.entriesOffset = Math.toIntExact(buffer.getLong(36));
+        this.termsOffset = Math.toIntExact(buffer.getLong(44));
+        this.postingsOffset = Math.toIntExact(buffer.getLong(52));
+        this.sourceHash = buffer.getLong(60);
+        this.terms = new byte[postingsOffset - termsOffset];
+        buffer.get(termsOffset, terms);
+    }
+
+    public static InvertedIndex open(Path indexFile) throws IOException {
+        MappedText file = TextLoader.map(indexFile);
+        try {
+            return new InvertedIndex(file);
+        } catch (RuntimeException | IOException e) {
+            file.close();
+            throw e;
+        }
+    }
+
+    public long sourceBytes() {
+        return sourceBytes;
+    }
+
+    /**
+     * Length of the source once decoded to a {@link String}, used to detect a stale index for in-memory text.
+     */
+    public long sourceChars() {
+        return sourceChars;
+    }
+
+    public long sourceModified() {
+        return sourceModified;
+    }
+
+    /**
+     * {@link CountCache#contentHash} of the source bytes, so an edit that keeps the length is still detected.
+     */
+    public long sourceHash() {
+        return sourceHash;
+    }
+
+    public int termCount() {
+        return termCount;
+    }
+
+    /**
+     * Number of tokens equal to {@code word} (ASCII case-insensitive).
+     */
+    public long termFrequency(String word) {
+        int entry = find(fold(word));
+        return entry < 0 ? 0 : frequencyAt(entry);
+    }
+
+    /**
+     * Byte offsets in the source of every token equal to {@code word}, in ascending order.
+     */
+    public int[] positions(String word) {
+        int entry = find(fold(word));
+        if (entry < 0) {
+            return new int[0];
+        }
+        int[] positions = new int[Math.toIntExact(frequencyAt(entry))];
+        int cursor = postingsOffset + Math.toIntExact(buffer.getLong(entryAt(entry) + 16));
+        int previous = 0;
+        for (int i = 0; i < positions.length; i++) {
+            int value = 0;
+            int shift = 0;
+            byte b;
+            do {
+                b = buffer.get(cursor++);
+                value |= (b & 0x7F) << shift;
+                shift += 7;
+            } while (b < 0);
+            previous += value;
+            positions[i] = previous;
+        }
+        return positions;
+    }
+
+    /**
+     * Non-overlapping occurrences of an already folded target made only of token bytes. Substrings cannot be
+     * looked up, so this scans every dictionary entry: the cost grows with the vocabulary, not the text, and only
+     * {@link #termFrequency(String)} is a binary search.
+     */
+    public SubstringCount countOccurrences(byte[] foldedTarget) {
+        long occurrences = 0;
+        int matchingTerms = 0;
+        for (int entry = 0; entry < termCount; entry++) {
+            int base = entryAt(entry);
+            int offset = buffer.getInt(base);
+            int length = buffer.getInt(base + 4);
+            if (length < foldedTarget.length) {
+                continue;
+            }
+            int inTerm = CaseFolding.countFolded(terms, foldedTarget, offset,
+                    offset + length - foldedTarget.length + 1);
+            if (inTerm > 0) {
+                occurrences += inTerm * buffer.getLong(base + 8);
+                matchingTerms++;
+            }
+        }
+        return new SubstringCount(occurrences, matchingTerms);
+    }
+
+    /**
+     * Answer of a dictionary scan plus how many distinct terms contributed to it.
+     */
+    public record SubstringCount(long occurrences, int matchingTerms) {
+    }
+
+    private int find(byte[] term) {
+        int low = 0;
+        int high = termCount - 1;
+        while (low <= high) {
+            int mid = (low + high) >>> 1;
+            int base = entryAt(mid);
+            int offset = buffer.getInt(base);
+            int cmp = Arrays.compareUnsigned(terms, offset, offset + buffer.getInt(base + 4), term, 0, term.length);
+            if (cmp < 0) {
+                low = mid + 1;
+            } else if (cmp > 0) {
+                high = mid - 1;
+            } else {
+                return mid;
+            }
+        }
+        return -1;
+    }
+
+    private long frequencyAt(int entry) {
+        return buffer.getLong(entryAt(entry) + 8);
+    }
+
+    private int entryAt(int entry) {
+        return entriesOffset + entry * InvertedIndexBuilder.ENTRY_BYTES;
+    }
+
+    static byte[] fold(String word) {
+        byte[] bytes = word.getBytes(StandardCharsets.UTF_8);
+        for (int i = 0; i < bytes.length; i++) {
+            bytes[i] = CaseFolding.foldAscii(bytes[i]);
+        }
+        return bytes;
+    }
+
+    @Override
+    public void close() throws IOException {
+        file.close();
+    }
+}
@@ -0,0 +1,394 @@
+package com.parallel.wordcount;
+
+import java.io.BufferedOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+
+/**
+ * Writes the on-disk inverted index read by {@link InvertedIndex}. Tokens follow the histogram rules
+ * ({@link WordHistogramEngine#isTokenByte(byte)}, ASCII folded to lowercase) and every posting is the
+ * byte offset of one token in the source file.
+ *
+ * <p>File layout (big-endian):
+ * <pre>
+ * header   magic, version, sourceBytes, sourceChars, sourceModified, termCount,
+ *          entriesOffset, termsOffset, postingsOffset, sourceHash ({@link CountCache#contentHash})
+ * entries  termCount x [termOffset int, termLength int, frequency long, postingOffset long, postingLength int],
+ *          sorted by unsigned term bytes
+ * terms    concatenated term bytes
+ * postings per term, positions as delta-encoded unsigned LEB128 varints
+ * </pre>
+ *
+ * <p>Tokenizing and posting encoding both run in parallel over chunks; only the dictionary merge is serial.
+ *
+ * <p>Every build of dataset {@code name} writes a new generation {@code <name>.<n>.idx} instead of replacing the
+ * previous file: a {@link java.nio.MappedByteBuffer} stays mapped until it is garbage-collected, even after its
+ * channel is closed, and Windows refuses to replace a mapped file. Older generations are deleted when possible.
+ */
+public final class InvertedIndexBuilder {
+
+    static final int MAGIC = 0x57434958;
+    static final int VERSION = 2;
+    static final int HEADER_BYTES = 4 + 4 + 8 + 8 + 8 + 4 + 8 + 8 + 8 + 8;
+    static final int ENTRY_BYTES = 4 + 4 + 8 + 8 + 4;
+    public static final String EXTENSION = ".idx";
+
+    private final int threadCount;
+
+    public InvertedIndexBuilder(int threadCount) {
+        this.threadCount = Math.max(1, threadCount);
+    }
+
+    /**
+     * Newest index generation of {@code datasetName} in {@code indexDir}, or null when none was built yet.
+     */
+    public static Path currentIndexFile(Path indexDir, String datasetName) throws IOException {
+        Path newest = null;
+        long newestGeneration = -1;
+        for (Path file : generations(indexDir, datasetName)) {
+            long generation = generationOf(file, datasetName);
+            if (generation > newestGeneration) {
+                newest = file;
+                newestGeneration = generation;
+            }
+        }
+        return newest;
+    }
+
+    /**
+     * File name for the next build of {@code datasetName}, one generation past the newest existing one.
+     */
+    public static Path nextIndexFile(Path indexDir, String datasetName) throws IOException {
+        Path current = currentIndexFile(indexDir, datasetName);
+        long next = current == null ? 1 : generationOf(current, datasetName) + 1;
+        return indexDir.resolve(datasetName + "." + next + EXTENSION);
+    }
+
+    /**
+     * Deletes every generation of {@code datasetName} except {@code keep}. A generation that is still mapped
+     * (possible on Windows) is left for a later build to remove.
+     */
+    public static void deleteOlderGenerations(Path indexDir, String datasetName, Path keep) throws IOException {
+        for (Path file : generations(indexDir, datasetName)) {
+            if (!file.equals(keep)) {
+                try {
+                    Files.deleteIfExists(file);
+                } catch (IOException e) {
+                    // Still mapped by this or another process.
+                }
+            }
+        }
+    }
+
+    /**
+     * True when the index was built from the current size and modification time of {@code source}. Reads only
+     * the header, through a plain channel read, so checking never leaves a mapping behind.
+     */
+    public static boolean isFresh(Path source, Path indexFile) throws IOException {
+        if (indexFile == null || !Files.exists(indexFile)) {
+            return false;
+        }
+        ByteBuffer header = ByteBuffer.allocate(HEADER_BYTES);
+        try (FileChannel channel = FileChannel.open(indexFile, StandardOpenOption.READ)) {
+            while (header.hasRemaining() && channel.read(header) >= 0) {
+                // Keep reading until the header is complete or the file ends.
+            }
+        }
+        return !header.hasRemaining()
+                && header.getInt(0) == MAGIC
+                && header.getInt(4) == VERSION
+                && header.getLong(8) == Files.size(source)
+                && header.getLong(24) == Files.getLastModifiedTime(source).toMillis();
+    }
+
+    private static List<Path> generations(Path indexDir, String datasetName) throws IOException {
+        if (!Files.isDirectory(indexDir)) {
+            return List.of();
+        }
+        try (Stream<Path> files = Files.list(indexDir)) {
+            return files.filter(file -> generationOf(file, datasetName) >= 0).toList();
+        }
+    }
+
+    /**
+     * Generation encoded in {@code <name>.<n>.idx}, 0 for the single {@code <name>.idx} of older builds, or -1
+     * when the file is not an index of {@code datasetName}.
+     */
+    private static long generationOf(Path file, String datasetName) {
+        String fileName = file.getFileName().toString();
+        if (fileName.equals(datasetName + EXTENSION)) {
+            return 0;
+        }
+        String prefix = datasetName + ".";
+        if (!fileName.startsWith(prefix) || !fileName.endsWith(EXTENSION)) {
+            return -1;
+        }
+        String generation = fileName.substring(prefix.length(), fileName.length() - EXTENSION.length());
+        if (generation.isEmpty() || generation.length() > 18 || !generation.chars().allMatch(Character::isDigit)) {
+            return -1;
+        }
+        return Long.parseLong(generation);
+    }
+
+    /**
+     * Builds the index for {@code source} into {@code indexFile} and returns the build result.
+     */
+    public WordCountResult build(Path source, Path indexFile) throws IOException, ExecutionException, InterruptedException {
+        long start = System.nanoTime();
+        byte[] text = TextLoader.loadBytes(source);
+        long modified = Files.getLastModifiedTime(source).toMillis();
+        ExecutorService executor = Executors.newFixedThreadPool(threadCount);
+        int termCount;
+        try {
+            int[] bounds = WordHistogramEngine.tokenBounds(text, threadCount);
+            List<Future<ChunkTerms>> tokenizing = new ArrayList<>();
+            for (int i = 0; i + 1 < bounds.length; i++) {
+                int from = bounds[i];
+                int to = bounds[i + 1];
+                tokenizing.add(executor.submit(() -> tokenize(text, from, to)));
+            }
+            List<ChunkTerms> chunks = new ArrayList<>();
+            for (Future<ChunkTerms> future : tokenizing) {
+                chunks.add(future.get());
+            }
+
+            ByteSliceCounter dictionary = new ByteSliceCounter(chunks.isEmpty() ? 16 : chunks.get(0).terms.size());
+            int[][] toGlobal = new int[chunks.size()][];
+            for (int c = 0; c < chunks.size(); c++) {
+                ByteSliceCounter terms = chunks.get(c).terms;
+                toGlobal[c] = new int[terms.size()];
+                for (int e = 0; e < terms.size(); e++) {
+                    toGlobal[c][e] = dictionary.add(terms.arena(), terms.offsetAt(e), terms.lengthAt(e),
+                            terms.hashAt(e), terms.countAt(e), true);
+                }
+            }
+            termCount = dictionary.size();
+
+            // CSR layout of all positions: term g owns [offsets[g], offsets[g + 1]); chunks fill their slices in parallel.
+            long[] offsets = new long[termCount + 1];
+            for (int g = 0; g < termCount; g++) {
+                offsets[g + 1] = offsets[g] + dictionary.countAt(g);
+            }
+            int[] positions = new int[Math.toIntExact(offsets[termCount])];
+            long[] cursor = Arrays.copyOf(offsets, termCount);
+            List<Future<?>> filling = new ArrayList<>();
+            for (int c = 0; c < chunks.size(); c++) {
+                ChunkTerms chunk = chunks.get(c);
+                int[] global = toGlobal[c];
+                int[] localStart = new int[chunk.terms.size()];
+                for (int e = 0; e < localStart.length; e++) {
+                    localStart[e] = (int) cursor[global[e]];
+                    cursor[global[e]] += chunk.terms.countAt(e);
+                }
+                filling.add(executor.submit(() -> chunk.fill(positions, localStart)));
+            }
+            for (Future<?> future : filling) {
+                future.get();
+            }
+
+            int[] sorted = sortTerms(dictionary);
+            List<Future<byte[]>> encoding = new ArrayList<>();
+            int[] ranges = ParallelCpuCounter.chunkBounds(termCount, threadCount);
+            for (int r = 0; r + 1 < ranges.length; r++) {
+                int from = ranges[r];
+                int to = ranges[r + 1];
+                encoding.add(executor.submit(() -> encodePostings(sorted, from, to, offsets, positions)));
+            }
+            List<byte[]> postingBlocks = new ArrayList<>();
+            for (Future<byte[]> future : encoding) {
+                postingBlocks.add(future.get());
+            }
+
+            write(indexFile, text, modified, dictionary, sorted, offsets, positions, postingBlocks);
+        } finally {
+            executor.shutdown();
+        }
+        long elapsed = System.nanoTime() - start;
+        return new WordCountResult("IndexBuild", source.getFileName().toString(), termCount, elapsed,
+                threadCount, "CPU", "index_bytes=" + Files.size(indexFile));
+    }
+
+    private static ChunkTerms tokenize(byte[] text, int from, int to) {
+        ChunkTerms chunk = new ChunkTerms();
+        int i = from;
+        while (i < to) {
+            while (i < to && !WordHistogramEngine.isTokenByte(text[i])) {
+                i++;
+            }
+            int start = i;
+            while (i < to && WordHistogramEngine.isTokenByte(text[i])) {
+                i++;
+            }
+            if (i > start) {
+                int entry = chunk.terms.add(text, start, i - start, ByteSliceCounter.hash(text, start, i - start), 1, false);
+                chunk.append(entry, start);
+            }
+        }
+        return chunk;
+    }
+
+    private static int[] sortTerms(ByteSliceCounter dictionary) {
+        byte[] arena = dictionary.arena();
+        return IntStream.range(0, dictionary.size())
+                .boxed()
+                .sorted((a, b) -> Arrays.compareUnsigned(
+                        arena, dictionary.offsetAt(a), dictionary.offsetAt(a) + dictionary.lengthAt(a),
+                        arena, dictionary.offsetAt(b), dictionary.offsetAt(b) + dictionary.lengthAt(b)))
+                .mapToInt(Integer::intValue)
+                .toArray();
+    }
+
+    /**
+     * Encodes the posting lists of {@code sorted[from, to)} back to back; each list restarts its deltas at 0.
+     */
+    private static byte[] encodePostings(int[] sorted, int from, int to, long[] offsets, int[] positions) {
+        VarintBuffer out = new VarintBuffer();
+        for (int i = from; i < to; i++) {
+            int g = sorted[i];
+            int previous = 0;
+            for (long p = offsets[g]; p < offsets[g + 1]; p++) {
+                out.writeVarint(positions[(int) p] - previous);
+                previous = positions[(int) p];
+            }
+        }
+        return out.toByteArray();
+    }
+
+    private static void write(Path indexFile, byte[] text, long modified, ByteSliceCounter dictionary, int[] sorted,
+                              long[] offsets, int[] positions, List<byte[]> postingBlocks) throws IOException {
+        if (indexFile.getParent() != null) {
+            Files.createDirectories(indexFile.getParent());
+        }
+        int termCount = sorted.length;
+        long termBytes = 0;
+        for (int g : sorted) {
+            termBytes += dictionary.lengthAt(g);
+        }
+        long entriesOffset = HEADER_BYTES;
+        long termsOffset = entriesOffset + (long) termCount * ENTRY_BYTES;
+        long postingsOffset = termsOffset + termBytes;
+
+        Path tmp = indexFile.resolveSibling(indexFile.getFileName() + ".tmp");
+        try (OutputStream raw = Files.newOutputStream(tmp);
+             DataOutputStream out = new DataOutputStream(new BufferedOutputStream(raw, 1 << 16))) {
+            out.writeInt(MAGIC);
+            out.writeInt(VERSION);
+            out.writeLong(text.length);
+            out.writeLong(utf16Length(text));
+            out.writeLong(modified);
+            out.writeInt(termCount);
+            out.writeLong(entriesOffset);
+            out.writeLong(termsOffset);
+            out.writeLong(postingsOffset);
+            out.writeLong(CountCache.contentHash(text));
+
+            int termOffset = 0;
+            long postingOffset = 0;
+            for (int g : sorted) {
+                int postingLength = varintLength(positions, offsets[g], offsets[g + 1]);
+                out.writeInt(termOffset);
+                out.writeInt(dictionary.lengthAt(g));
+                out.writeLong(dictionary.countAt(g));
+                out.writeLong(postingOffset);
+                out.writeInt(postingLength);
+                termOffset += dictionary.lengthAt(g);
+                postingOffset += postingLength;
+            }
+            for (int g : sorted) {
+                out.write(dictionary.arena(), dictionary.offsetAt(g), dictionary.lengthAt(g));
+            }
+            for (byte[] block : postingBlocks) {
+                out.write(block);
+            }
+        }
+        // A new generation never exists yet, so nothing mapped is replaced here.
+        Files.move(tmp, indexFile, StandardCopyOption.REPLACE_EXISTING);
+    }
+
+    private static int varintLength(int[] positions, long from, long to) {
+        int length = 0;
+        int previous = 0;
+        for (long p = from; p < to; p++) {
+            int delta = positions[(int) p] - previous;
+            previous = positions[(int) p];
+            length += delta == 0 ? 1 : (38 - Integer.numberOfLeadingZeros(delta)) / 7;
+        }
+        return length;
+    }
+
+    /**
+     * Length of the decoded {@link String}: one char per UTF-8 sequence, two for 4-byte sequences.
+     */
+    static long utf16Length(byte[] text) {
+        long chars = 0;
+        for (byte b : text) {
+            if ((b & 0xC0) != 0x80) {
+                chars += (b & 0xF8) == 0xF0 ? 2 : 1;
+            }
+        }
+        return chars;
+    }
+
+    /**
+     * Terms of one chunk plus the (entry, position) of every token, in text order.
+     */
+    private static final class ChunkTerms {
+        final ByteSliceCounter terms = new ByteSliceCounter(1024);
+        int[] entries = new int[1024];
+        int[] positions = new int[1024];
+        int size;
+
+        void append(int entry, int position) {
+            if (size == entries.length) {
+                entries = Arrays.copyOf(entries, size * 2);
+                positions = Arrays.copyOf(positions, size * 2);
+            }
+            entries[size] = entry;
+            positions[size] = position;
+            size++;
+        }
+
+        void fill(int[] target, int[] localStart) {
+            int[] next = localStart.clone();
+            for (int i = 0; i < size; i++) {
+                target[next[entries[i]]++] = positions[i];
+            }
+        }
+    }
+
+    private static final class VarintBuffer {
+        private byte[] data = new byte[1 << 12];
+        private int size;
+
+        void writeVarint(int value) {
+            if (size + 5 > data.length) {
+                data = Arrays.copyOf(data, data.length * 2);
+            }
+            while ((value & ~0x7F) != 0) {
+                data[size++] = (byte) ((value & 0x7F) | 0x80);
+                value >>>= 7;
+            }
+            data[size++] = (byte) value;
+        }
+
+        byte[] toByteArray() {
+            return Arrays.copyOf(data, size);
+        }
+    }
+}
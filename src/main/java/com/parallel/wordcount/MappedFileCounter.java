@@ -0,0 +1,85 @@
+package com.parallel.wordcount;
+
+import java.io.IOException;
+import java.nio.MappedByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.util.Locale;
+
+/**
+ * Serial counting over a memory-mapped file, scanned in fixed-size windows.
+ *
+ * <p>Each window is mapped with {@code wordLen - 1} extra bytes so that words crossing a seam are
+ * still seen, and the end of the last match is carried over to the next window so the result is
+ * the same non-overlapping count produced by {@link SerialCpuCounter}. ASCII letters in the file
+ * are folded to lowercase while matching; non-ASCII bytes are compared as-is against the
+ * lowercased UTF-8 target.
+ */
+public class MappedFileCounter implements FileWordCounter {
+
+    public static final int DEFAULT_WINDOW_BYTES = 64 * 1024 * 1024;
+
+    private final int windowBytes;
+
+    public MappedFileCounter() {
+        this(DEFAULT_WINDOW_BYTES);
+    }
+
+    public MappedFileCounter(int windowBytes) {
+        this.windowBytes = Math.max(1, windowBytes);
+    }
+
+    @Override
+    public String name() {
+        return "MappedCPU";
+    }
+
+    @Override
+    public WordCountResult count(Path file, String targetWord) throws Exception {
+        if (targetWord.isBlank()) {
+            throw new IllegalArgumentException("Target word must not be blank");
+        }
+        byte[] target = targetWord.toLowerCase(Locale.ROOT).getBytes(StandardCharsets.UTF_8);
+        long start = System.nanoTime();
+        long occurrences;
+        try (MappedText text = TextLoader.map(file)) {
+            occurrences = countOccurrences(text, target);
+        }
+        long elapsed = System.nanoTime() - start;
+        return new WordCountResult(name(), file.getFileName().toString(), occurrences, elapsed, 1, "CPU");
+    }
+
+    private long countOccurrences(MappedText text, byte[] target) throws IOException {
+        long size = text.size();
+        int wordLen = target.length;
+        long count = 0;
+        long nextAllowed = 0;
+        for (long pos = 0; pos < size; pos += windowBytes) {
+            long seam = Math.min(size, pos + windowBytes);
+            long mapEnd = Math.min(size, seam + wordLen - 1);
+            if (mapEnd - pos < wordLen) {
+                break;
+            }
+            MappedByteBuffer window = text.window(pos, mapEnd - pos);
+            int from = (int) Math.max(0, nextAllowed - pos);
+            int until = (int) Math.min(seam - pos, mapEnd - pos - wordLen + 1);
+            for (int i = from; i < until; i++) {
+                if (matchesAt(window, i, target)) {
+                    count++;
+                    nextAllowed = pos + i + wordLen;
+                    i += wordLen - 1;
+                }
+            }
+        }
+        return count;
+    }
+
+    private static boolean matchesAt(MappedByteBuffer window, int offset, byte[] target) {
+        for (int j = 0; j < target.length; j++) {
+            if (CaseFolding.foldAscii(window.get(offset + j)) != target[j]) {
+                return false;
+            }
+        }
+        return true;
+    }
+}
@@ -0,0 +1,227 @@
+package com.parallel.wordcount;
+
+import org.jocl.CL;
+import org.jocl.Pointer;
+import org.jocl.Sizeof;
+import org.jocl.cl_command_queue;
+import org.jocl.cl_context;
+import org.jocl.cl_context_properties;
+import org.jocl.cl_device_id;
+import org.jocl.cl_event;
+import org.jocl.cl_kernel;
+import org.jocl.cl_mem;
+import org.jocl.cl_program;
+
+import java.nio.MappedByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import static org.jocl.CL.*;
+
+/**
+ * OpenCL counting straight from a memory-mapped file, with ASCII case folded inside the kernel.
+ *
+ * <p>The host never lowercases, decodes or copies the text: every window of the file (as in
+ * {@link MappedFileCounter}, with {@code wordLen - 1} extra bytes) is handed to the device as a
+ * {@code CL_MEM_USE_HOST_PTR} buffer over the mapped pages, which CPU and integrated devices read in place and
+ * discrete GPUs transfer during the launch. All windows add to one device counter that is read once at the end,
+ * and at most {@value #WINDOWS_IN_FLIGHT} windows stay mapped while their kernels run. The measured time covers
+ * everything from opening the file to the count. That counter is a 32-bit {@code int}, like in the other OpenCL
+ * counters.
+ *
+ * <p>Matching follows {@link CaseFolding#foldAscii(byte)}: ASCII letters are folded, other bytes are compared
+ * as-is against the lowercased UTF-8 target. The kernel counts overlapping matches while {@link MappedFileCounter}
+ * does not, so words that overlap themselves (e.g. "aa") are counted by {@link MappedFileCounter} instead.
+ */
+public class MappedGpuCounter implements FileWordCounter {
+
+    private static final Map<String, CachedResources> CACHE = new ConcurrentHashMap<>();
+    private static final int WINDOWS_IN_FLIGHT = 2;
+
+    static final String KERNEL_SOURCE = """
+            __kernel void countWordFolded(__global const uchar* text,
+                                          const int textLen,
+                                          const int startLimit,
+                                          __global const uchar* word,
+                                          const int wordLen,
+                                          __global int* globalCounter,
+                                          __local int* localCounts) {
+                int gid = get_global_id(0);
+                int lid = get_local_id(0);
+                int groupSize = get_local_size(0);
+                int match = 0;
+                if (gid < startLimit && gid + wordLen <= textLen) {
+                    match = 1;
+                    for (int i = 0; i < wordLen; i++) {
+                        uchar c = text[gid + i];
+                        if (c >= 'A' && c <= 'Z') {
+                            c = (uchar) (c + 32);
+                        }
+                        if (c != word[i]) {
+                            match = 0;
+                            break;
+                        }
+                    }
+                }
+                localCounts[lid] = match;
+                barrier(CLK_LOCAL_MEM_FENCE);
+
+                for (int stride = groupSize / 2; stride > 0; stride >>= 1) {
+                    if (lid < stride) {
+                        localCounts[lid] += localCounts[lid + stride];
+                    }
+                    barrier(CLK_LOCAL_MEM_FENCE);
+                }
+
+                if (lid == 0) {
+                    atomic_add(globalCounter, localCounts[0]);
+                }
+            }
+            """;
+
+    private final int windowBytes;
+
+    public MappedGpuCounter() {
+        this(MappedFileCounter.DEFAULT_WINDOW_BYTES);
+    }
+
+    public MappedGpuCounter(int windowBytes) {
+        this.windowBytes = Math.max(1, windowBytes);
+    }
+
+    @Override
+    public String name() {
+        return "MappedGPU";
+    }
+
+    @Override
+    public WordCountResult count(Path file, String targetWord) throws Exception {
+        if (targetWord.isBlank()) {
+            throw new IllegalArgumentException("Target word must not be blank");
+        }
+        String normalizedTarget = targetWord.toLowerCase(Locale.ROOT);
+        String datasetName = file.getFileName().toString();
+        if (AutoCounter.selfOverlaps(normalizedTarget)) {
+            WordCountResult cpu = new MappedFileCounter(windowBytes).count(file, targetWord);
+            return new WordCountResult(name(), datasetName, cpu.occurrences(), cpu.durationNanos(), 1, "CPU",
+                    "cpu_only=self-overlapping word", null);
+        }
+        byte[] wordBytes = normalizedTarget.getBytes(StandardCharsets.UTF_8);
+
+        CL.setExceptionsEnabled(true);
+        OpenClSupport.Device device = OpenClSupport.selectDevice();
+        CachedResources resources = CACHE.computeIfAbsent(device.name(), k -> buildResources(device));
+        long start = System.nanoTime();
+        OpenClSupport.KernelRun run;
+        try (MappedText text = TextLoader.map(file)) {
+            run = countWindows(resources, device, text, wordBytes);
+        }
+        long elapsed = System.nanoTime() - start;
+        return new WordCountResult(name(), datasetName, run.occurrences(), elapsed, null, device.label(),
+                "zero_copy windows_mb=" + windowBytes / (1024 * 1024), run.phases());
+    }
+
+    private OpenClSupport.KernelRun countWindows(CachedResources resources, OpenClSupport.Device device,
+                                                 MappedText text, byte[] wordBytes) throws Exception {
+        cl_context context = resources.context();
+        cl_command_queue queue = resources.queue();
+        cl_kernel kernel = resources.kernel();
+        long window = Math.min(windowBytes, OpenClSupport.maxAllocBytes(device.id()) - wordBytes.length);
+        long size = text.size();
+
+        long buffersStart = System.nanoTime();
+        cl_mem wordMem = clCreateBuffer(context, CL_MEM_READ_ONLY | CL_MEM_COPY_HOST_PTR,
+                (long) Sizeof.cl_char * wordBytes.length, Pointer.to(wordBytes), null);
+        cl_mem countMem = clCreateBuffer(context, CL_MEM_READ_WRITE | CL_MEM_COPY_HOST_PTR,
+                Sizeof.cl_int, Pointer.to(new int[]{0}), null);
+        long buffersNanos = System.nanoTime() - buffersStart;
+        long kernelNanos = 0;
+        Deque<InFlight> inFlight = new ArrayDeque<>();
+        try {
+            for (long pos = 0; pos < size; pos += window) {
+                long seam = Math.min(size, pos + window);
+                long mapEnd = Math.min(size, seam + wordBytes.length - 1);
+                if (mapEnd - pos < wordBytes.length) {
+                    break;
+                }
+                // The window mapped WINDOWS_IN_FLIGHT windows ago must not be unmapped while its kernel reads it.
+                if (inFlight.size() == WINDOWS_IN_FLIGHT) {
+                    kernelNanos += inFlight.removeFirst().finish();
+                }
+                MappedByteBuffer mapped = text.window(pos, mapEnd - pos);
+                int length = (int) (mapEnd - pos);
+                int startLimit = (int) (seam - pos);
+
+                long windowStart = System.nanoTime();
+                cl_mem textMem = clCreateBuffer(context, CL_MEM_READ_ONLY | CL_MEM_USE_HOST_PTR,
+                        length, Pointer.to(mapped), null);
+                buffersNanos += System.nanoTime() - windowStart;
+
+                clSetKernelArg(kernel, 0, Sizeof.cl_mem, Pointer.to(textMem));
+                clSetKernelArg(kernel, 1, Sizeof.cl_int, Pointer.to(new int[]{length}));
+                clSetKernelArg(kernel, 2, Sizeof.cl_int, Pointer.to(new int[]{startLimit}));
+                clSetKernelArg(kernel, 3, Sizeof.cl_mem, Pointer.to(wordMem));
+                clSetKernelArg(kernel, 4, Sizeof.cl_int, Pointer.to(new int[]{wordBytes.length}));
+                clSetKernelArg(kernel, 5, Sizeof.cl_mem, Pointer.to(countMem));
+                clSetKernelArg(kernel, 6, ParallelGpuOptimizedCounter.LOCAL_SIZE * Sizeof.cl_int, null);
+                long[] globalWorkSize = new long[]{
+                        ParallelGpuOptimizedCounter.roundUp(ParallelGpuOptimizedCounter.LOCAL_SIZE, startLimit)};
+                long[] localWorkSize = new long[]{ParallelGpuOptimizedCounter.LOCAL_SIZE};
+                cl_event kernelRun = new cl_event();
+                clEnqueueNDRangeKernel(queue, kernel, 1, null, globalWorkSize, localWorkSize, 0, null, kernelRun);
+                clFlush(queue);
+                inFlight.addLast(new InFlight(mapped, textMem, kernelRun));
+            }
+            while (!inFlight.isEmpty()) {
+                kernelNanos += inFlight.removeFirst().finish();
+            }
+
+            int[] result = new int[1];
+            cl_event readback = new cl_event();
+            clEnqueueReadBuffer(queue, countMem, CL_TRUE, 0, Sizeof.cl_int, Pointer.to(result), 0, null, readback);
+            GpuPhases phases = new GpuPhases(0, buffersNanos, 0, kernelNanos, OpenClSupport.profiledNanos(readback));
+            return new OpenClSupport.KernelRun(result[0], phases);
+        } finally {
+            clFinish(queue);
+            for (InFlight pending : inFlight) {
+                clReleaseEvent(pending.kernelRun());
+                clReleaseMemObject(pending.textMem());
+            }
+            clReleaseMemObject(wordMem);
+            clReleaseMemObject(countMem);
+        }
+    }
+
+    private static CachedResources buildResources(OpenClSupport.Device device) {
+        cl_context_properties contextProperties = new cl_context_properties();
+        contextProperties.addProperty(CL_CONTEXT_PLATFORM, device.platform());
+        cl_context context = clCreateContext(
+                contextProperties, 1, new cl_device_id[]{device.id()}, null, null, null);
+
+        cl_command_queue queue = OpenClSupport.createProfilingQueue(context, device.id());
+
+        cl_program program = ProgramBinaryCache.build(context, device, KERNEL_SOURCE);
+        cl_kernel kernel = clCreateKernel(program, "countWordFolded", null);
+        return new CachedResources(context, queue, program, kernel);
+    }
+
+    /**
+     * A mapped window whose kernel may still be running; holding {@code mapped} keeps the pages mapped.
+     */
+    private record InFlight(MappedByteBuffer mapped, cl_mem textMem, cl_event kernelRun) {
+
+        long finish() {
+            clWaitForEvents(1, new cl_event[]{kernelRun});
+            clReleaseMemObject(textMem);
+            return OpenClSupport.profiledNanos(kernelRun);
+        }
+    }
+
+    private record CachedResources(cl_context context, cl_command_queue queue, cl_program program, cl_kernel kernel) {
+    }
+}
@@ -0,0 +1,44 @@
+package com.parallel.wordcount;
+
+import java.io.IOException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+
+/**
+ * Read-only view of a file on disk that hands out memory-mapped windows on demand.
+ * Only the windows being scanned are resident, so files larger than the heap (and beyond
+ * {@code Integer.MAX_VALUE} bytes) can be processed with a flat memory footprint.
+ */
+public final class MappedText implements AutoCloseable {
+
+    private final FileChannel channel;
+    private final long size;
+
+    MappedText(FileChannel channel) throws IOException {
+        this.channel = channel;
+        this.size = channel.size();
+    }
+
+    public long size() {
+        return size;
+    }
+
+    /**
+     * Maps {@code length} bytes starting at {@code offset}. A single window is limited to
+     * {@code Integer.MAX_VALUE} bytes by the {@link MappedByteBuffer} API.
+     */
+    public MappedByteBuffer window(long offset, long length) throws IOException {
+        if (offset < 0 || length < 0 || offset + length > size) {
+            throw new IllegalArgumentException("Window [" + offset + ", " + (offset + length) + ") outside file of " + size + " bytes");
+        }
+        if (length > Integer.MAX_VALUE) {
+            throw new IllegalArgumentException("Window too large: " + length + " bytes");
+        }
+        return channel.map(FileChannel.MapMode.READ_ONLY, offset, length);
+    }
+
+    @Override
+    public void close() throws IOException {
+        channel.close();
+    }
+}
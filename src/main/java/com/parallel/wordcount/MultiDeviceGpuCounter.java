@@ -0,0 +1,158 @@
+package com.parallel.wordcount;
+
+import org.jocl.CL;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Locale;
+import java.util.StringJoiner;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+/**
+ * Splits one count across every OpenCL device of {@link OpenClSupport#selectDevices()}, each running
+ * {@code countWordOpt} on its own slice at the same time.
+ *
+ * <p>Device {@code i} counts the matches that start in its slice and receives {@code wordLen - 1} bytes past the
+ * slice end, so a match crossing a cut is counted once, by the device owning its first byte; the sum equals the
+ * single-device count, overlapping matches included.
+ *
+ * <p>Shares start equal and after every call move towards shares proportional to the bytes per nanosecond each
+ * device just achieved, like {@link HybridCpuGpuCounter} does for its two sides. An instance therefore converges
+ * over the warmup and sample runs of a benchmark cell; it is not thread-safe.
+ */
+public class MultiDeviceGpuCounter implements WordCounter {
+
+    /**
+     * Floor that keeps every device measurable, so a slow start does not starve it for good.
+     */
+    static final double MIN_SHARE = 0.02;
+    private static final double SMOOTHING = 0.5;
+
+    private double[] shares;
+
+    @Override
+    public String name() {
+        return "ParallelGPU-MultiDevice";
+    }
+
+    /**
+     * Current share of each device, in {@link OpenClSupport#selectDevices()} order; null before the first count.
+     */
+    public double[] shares() {
+        return shares == null ? null : shares.clone();
+    }
+
+    @Override
+    public WordCountResult count(String datasetName, String text, String targetWord)
+            throws ExecutionException, InterruptedException {
+        if (targetWord.isBlank()) {
+            throw new IllegalArgumentException("Target word must not be blank");
+        }
+        long normalizeStart = System.nanoTime();
+        byte[] textBytes = text.toLowerCase(Locale.ROOT).getBytes(StandardCharsets.UTF_8);
+        byte[] wordBytes = targetWord.toLowerCase(Locale.ROOT).getBytes(StandardCharsets.UTF_8);
+        long normalizeNanos = System.nanoTime() - normalizeStart;
+
+        CL.setExceptionsEnabled(true);
+        List<OpenClSupport.Device> devices = OpenClSupport.selectDevices();
+        if (shares == null || shares.length != devices.size()) {
+            shares = new double[devices.size()];
+            Arrays.fill(shares, 1.0 / devices.size());
+        }
+        if (textBytes.length < wordBytes.length) {
+            return new WordCountResult(name(), datasetName, 0, 0, null, "OpenCL x" + devices.size());
+        }
+        double[] used = shares.clone();
+        int[] bounds = bounds(textBytes.length, used);
+
+        ExecutorService executor = Executors.newFixedThreadPool(devices.size());
+        long start = System.nanoTime();
+        long[] bytes = new long[devices.size()];
+        long[] nanos = new long[devices.size()];
+        List<Future<OpenClSupport.KernelRun>> futures = new ArrayList<>();
+        for (int i = 0; i < devices.size(); i++) {
+            OpenClSupport.Device device = devices.get(i);
+            int from = bounds[i];
+            int length = Math.min(textBytes.length, bounds[i + 1] + wordBytes.length - 1) - from;
+            int slot = i;
+            bytes[i] = bounds[i + 1] - from;
+            futures.add(executor.submit(() -> {
+                if (bytes[slot] == 0) {
+                    return null;
+                }
+                OpenClSupport.KernelRun run = ParallelGpuOptimizedCounter.runKernel(device, textBytes, from, length, wordBytes);
+                nanos[slot] = System.nanoTime() - start;
+                return run;
+            }));
+        }
+        long occurrences = 0;
+        GpuPhases phases = new GpuPhases(normalizeNanos, 0, 0, 0, 0);
+        try {
+            for (Future<OpenClSupport.KernelRun> future : futures) {
+                OpenClSupport.KernelRun run = future.get();
+                if (run != null) {
+                    occurrences += run.occurrences();
+                    phases = phases.plus(run.phases());
+                }
+            }
+        } finally {
+            executor.shutdown();
+        }
+        long elapsed = System.nanoTime() - start;
+
+        shares = nextShares(shares, bytes, nanos);
+        StringJoiner details = new StringJoiner("; ");
+        for (int i = 0; i < devices.size(); i++) {
+            details.add(String.format(Locale.ROOT, "%s share=%.3f next=%.3f bytes=%d ms=%.3f",
+                    devices.get(i).label(), used[i], shares[i], bytes[i], nanos[i] / 1_000_000.0));
+        }
+        return new WordCountResult(name(), datasetName, occurrences, elapsed, null, "OpenCL x" + devices.size(),
+                details.toString(), phases);
+    }
+
+    /**
+     * Slice boundaries for the given shares: {@code shares.length + 1} non-decreasing offsets from 0 to
+     * {@code textLength}.
+     */
+    static int[] bounds(int textLength, double[] shares) {
+        int[] bounds = new int[shares.length + 1];
+        double cumulative = 0;
+        for (int i = 0; i < shares.length; i++) {
+            cumulative += shares[i];
+            bounds[i + 1] = (int) Math.min(textLength, Math.round(textLength * cumulative));
+        }
+        bounds[shares.length] = textLength;
+        return bounds;
+    }
+
+    /**
+     * Shares proportional to the observed rates, blended into the current ones, floored at {@link #MIN_SHARE}
+     * and normalized. A device that got no bytes or took no measurable time leaves every share unchanged.
+     */
+    static double[] nextShares(double[] current, long[] bytes, long[] nanos) {
+        double[] rates = new double[current.length];
+        double total = 0;
+        for (int i = 0; i < current.length; i++) {
+            if (bytes[i] <= 0 || nanos[i] <= 0) {
+                return current;
+            }
+            rates[i] = (double) bytes[i] / nanos[i];
+            total += rates[i];
+        }
+        double[] next = new double[current.length];
+        double sum = 0;
+        for (int i = 0; i < current.length; i++) {
+            next[i] = Math.max(MIN_SHARE, SMOOTHING * rates[i] / total + (1 - SMOOTHING) * current[i]);
+            sum += next[i];
+        }
+        for (int i = 0; i < next.length; i++) {
+            next[i] /= sum;
+        }
+        return next;
+    }
+}
@@ -0,0 +1,30 @@
+package com.parallel.wordcount;
+
+import java.util.Map;
+
+/**
+ * Result of a multi-word query: one count per (lowercased) target word, in query order.
+ */
+public record MultiWordCountResult(
+        String method,
+        String dataset,
+        Map<String, Long> counts,
+        long durationNanos,
+        Integer threads,
+        String deviceType) {
+
+    public long durationMillis() {
+        return durationNanos / 1_000_000;
+    }
+
+    public long totalOccurrences() {
+        return counts.values().stream().mapToLong(Long::longValue).sum();
+    }
+
+    /**
+     * Summary row compatible with the single-word CSV and charts; occurrences is the sum over all words.
+     */
+    public WordCountResult toSummary() {
+        return new WordCountResult(method, dataset, totalOccurrences(), durationNanos, threads, deviceType);
+    }
+}
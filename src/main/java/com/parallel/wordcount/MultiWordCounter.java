@@ -0,0 +1,12 @@
+package com.parallel.wordcount;
+
+import java.util.List;
+
+/**
+ * Contract for strategies that count several target words in a single pass over the text.
+ */
+public interface MultiWordCounter {
+    String name();
+
+    MultiWordCountResult count(String datasetName, String text, List<String> targetWords) throws Exception;
+}
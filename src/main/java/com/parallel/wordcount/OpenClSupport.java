@@ -0,0 +1,274 @@
+package com.parallel.wordcount;
+
+import org.jocl.CL;
+import org.jocl.CLException;
+import org.jocl.Pointer;
+import org.jocl.Sizeof;
+import org.jocl.cl_command_queue;
+import org.jocl.cl_context;
+import org.jocl.cl_device_id;
+import org.jocl.cl_device_partition_property;
+import org.jocl.cl_event;
+import org.jocl.cl_platform_id;
+import org.jocl.cl_program;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+import static org.jocl.CL.CL_DEVICE_GLOBAL_MEM_SIZE;
+import static org.jocl.CL.CL_DEVICE_LOCAL_MEM_SIZE;
+import static org.jocl.CL.CL_DEVICE_MAX_COMPUTE_UNITS;
+import static org.jocl.CL.CL_DEVICE_MAX_MEM_ALLOC_SIZE;
+import static org.jocl.CL.CL_DEVICE_NAME;
+import static org.jocl.CL.CL_DEVICE_PARTITION_EQUALLY;
+import static org.jocl.CL.CL_DEVICE_TYPE_ACCELERATOR;
+import static org.jocl.CL.CL_DEVICE_TYPE_CPU;
+import static org.jocl.CL.CL_DEVICE_TYPE_GPU;
+import static org.jocl.CL.CL_PROFILING_COMMAND_END;
+import static org.jocl.CL.CL_PROFILING_COMMAND_START;
+import static org.jocl.CL.CL_PROGRAM_BUILD_LOG;
+import static org.jocl.CL.CL_QUEUE_PROFILING_ENABLE;
+import static org.jocl.CL.clCreateCommandQueue;
+import static org.jocl.CL.clCreateSubDevices;
+import static org.jocl.CL.clGetDeviceIDs;
+import static org.jocl.CL.clGetDeviceInfo;
+import static org.jocl.CL.clGetEventProfilingInfo;
+import static org.jocl.CL.clGetPlatformIDs;
+import static org.jocl.CL.clGetProgramBuildInfo;
+import static org.jocl.CL.clReleaseEvent;
+
+/**
+ * OpenCL device discovery shared by the GPU counters.
+ *
+ * <p>By default the first GPU is used, then accelerators, then CPU devices. The system property
+ * {@value #DEVICE_PROPERTY} ({@code gpu}, {@code accelerator} or {@code cpu}) restricts the choice to one type,
+ * e.g. to benchmark the kernels on a CPU OpenCL runtime.
+ *
+ * <p>{@link #selectDevices()} returns every matching device instead, for counters that split the text. With
+ * {@value #SUB_DEVICES_PROPERTY}{@code =n} each device is partitioned into {@code n} equal sub-devices, so the
+ * multi-device path can be exercised on one CPU OpenCL runtime (e.g. PoCL).
+ */
+final class OpenClSupport {
+
+    static final String DEVICE_PROPERTY = "wordcount.opencl.device";
+    static final String SUB_DEVICES_PROPERTY = "wordcount.opencl.sub-devices";
+
+    /**
+     * Device list of the last {@link #selectDevices()} call and the settings it was built for; sub-devices are
+     * created once instead of on every count.
+     */
+    private static List<Device> allDevices;
+    private static String allDevicesKey;
+
+    private OpenClSupport() {
+    }
+
+    static Device selectDevice() {
+        int[] numPlatformsArr = new int[1];
+        clGetPlatformIDs(0, null, numPlatformsArr);
+        if (numPlatformsArr[0] == 0) {
+            throw new IllegalStateException("No OpenCL platforms found. Install GPU/CPU OpenCL drivers.");
+        }
+        cl_platform_id[] platforms = new cl_platform_id[numPlatformsArr[0]];
+        clGetPlatformIDs(platforms.length, platforms, null);
+
+        String preferred = System.getProperty(DEVICE_PROPERTY, "").trim().toLowerCase(Locale.ROOT);
+        List<Device> devices = new ArrayList<>();
+        if (preferred.isEmpty() || preferred.equals("gpu")) {
+            for (cl_platform_id platform : platforms) {
+                collectDevices(platform, CL_DEVICE_TYPE_GPU, "GPU", devices);
+            }
+        }
+        if (devices.isEmpty() && (preferred.isEmpty() || preferred.equals("accelerator"))) {
+            for (cl_platform_id platform : platforms) {
+                collectDevices(platform, CL_DEVICE_TYPE_ACCELERATOR, "Accelerator", devices);
+            }
+        }
+        if (devices.isEmpty() && (preferred.isEmpty() || preferred.equals("cpu"))) {
+            for (cl_platform_id platform : platforms) {
+                collectDevices(platform, CL_DEVICE_TYPE_CPU, "CPU", devices);
+            }
+        }
+        if (devices.isEmpty()) {
+            throw new IllegalStateException("No suitable OpenCL devices available"
+                    + (preferred.isEmpty() ? "." : " of type '" + preferred + "'."));
+        }
+        return devices.get(0);
+    }
+
+    /**
+     * Every device of the preferred type, or of all types when {@value #DEVICE_PROPERTY} is unset: GPUs first,
+     * then accelerators, then CPU devices. Repeated names get a {@code #n} suffix, because the per-device caches
+     * of the counters are keyed by name.
+     */
+    static synchronized List<Device> selectDevices() {
+        String preferred = System.getProperty(DEVICE_PROPERTY, "").trim().toLowerCase(Locale.ROOT);
+        int subDevices = Integer.getInteger(SUB_DEVICES_PROPERTY, 0);
+        String key = preferred + "/" + subDevices;
+        if (allDevices != null && key.equals(allDevicesKey)) {
+            return allDevices;
+        }
+        int[] numPlatformsArr = new int[1];
+        clGetPlatformIDs(0, null, numPlatformsArr);
+        if (numPlatformsArr[0] == 0) {
+            throw new IllegalStateException("No OpenCL platforms found. Install GPU/CPU OpenCL drivers.");
+        }
+        cl_platform_id[] platforms = new cl_platform_id[numPlatformsArr[0]];
+        clGetPlatformIDs(platforms.length, platforms, null);
+
+        List<Device> found = new ArrayList<>();
+        for (cl_platform_id platform : platforms) {
+            if (preferred.isEmpty() || preferred.equals("gpu")) {
+                collectDevices(platform, CL_DEVICE_TYPE_GPU, "GPU", found);
+            }
+        }
+        for (cl_platform_id platform : platforms) {
+            if (preferred.isEmpty() || preferred.equals("accelerator")) {
+                collectDevices(platform, CL_DEVICE_TYPE_ACCELERATOR, "Accelerator", found);
+            }
+        }
+        for (cl_platform_id platform : platforms) {
+            if (preferred.isEmpty() || preferred.equals("cpu")) {
+                collectDevices(platform, CL_DEVICE_TYPE_CPU, "CPU", found);
+            }
+        }
+        if (found.isEmpty()) {
+            throw new IllegalStateException("No suitable OpenCL devices available"
+                    + (preferred.isEmpty() ? "." : " of type '" + preferred + "'."));
+        }
+
+        List<Device> devices = new ArrayList<>();
+        Map<String, Integer> seen = new HashMap<>();
+        for (Device device : found) {
+            for (Device part : subDevices > 1 ? partition(device, subDevices) : List.of(device)) {
+                int occurrence = seen.merge(part.name(), 1, Integer::sum);
+                devices.add(occurrence == 1 ? part
+                        : new Device(part.platform(), part.id(), part.typeLabel(), part.name() + " #" + occurrence));
+            }
+        }
+        allDevices = List.copyOf(devices);
+        allDevicesKey = key;
+        return allDevices;
+    }
+
+    /**
+     * {@code parts} equal sub-devices of {@code device}, or the device itself when it cannot be partitioned.
+     */
+    private static List<Device> partition(Device device, int parts) {
+        int[] computeUnits = new int[1];
+        clGetDeviceInfo(device.id(), CL_DEVICE_MAX_COMPUTE_UNITS, Sizeof.cl_uint, Pointer.to(computeUnits), null);
+        int unitsPerPart = computeUnits[0] / parts;
+        if (unitsPerPart < 1) {
+            return List.of(device);
+        }
+        cl_device_partition_property properties = new cl_device_partition_property();
+        properties.addProperty(CL_DEVICE_PARTITION_EQUALLY, unitsPerPart);
+        // Leftover compute units may form extra sub-devices (e.g. 8 units in 3 parts of 2 gives 4).
+        cl_device_id[] ids = new cl_device_id[computeUnits[0] / unitsPerPart];
+        int[] created = new int[1];
+        try {
+            clCreateSubDevices(device.id(), properties, ids.length, ids, created);
+        } catch (CLException e) {
+            return List.of(device);
+        }
+        int count = Math.min(ids.length, created[0]);
+        List<Device> subDevices = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            subDevices.add(new Device(device.platform(), ids[i], device.typeLabel(),
+                    device.name() + " [sub " + (i + 1) + "/" + count + "]"));
+        }
+        return subDevices.isEmpty() ? List.of(device) : subDevices;
+    }
+
+    static String buildLog(cl_program program, cl_device_id device) {
+        long[] logSize = new long[1];
+        clGetProgramBuildInfo(program, device, CL_PROGRAM_BUILD_LOG, 0, null, logSize);
+        byte[] logData = new byte[(int) logSize[0]];
+        clGetProgramBuildInfo(program, device, CL_PROGRAM_BUILD_LOG, logSize[0], Pointer.to(logData), null);
+        return new String(logData, StandardCharsets.UTF_8);
+    }
+
+    /**
+     * In-order queue with {@code CL_QUEUE_PROFILING_ENABLE}, so every command can report its device-side duration.
+     */
+    static cl_command_queue createProfilingQueue(cl_context context, cl_device_id device) {
+        return clCreateCommandQueue(context, device, CL_QUEUE_PROFILING_ENABLE, null);
+    }
+
+    /**
+     * Device-side duration of a completed command ({@code END - START}); the event is released.
+     */
+    static long profiledNanos(cl_event event) {
+        long[] start = new long[1];
+        long[] end = new long[1];
+        clGetEventProfilingInfo(event, CL_PROFILING_COMMAND_START, Sizeof.cl_ulong, Pointer.to(start), null);
+        clGetEventProfilingInfo(event, CL_PROFILING_COMMAND_END, Sizeof.cl_ulong, Pointer.to(end), null);
+        clReleaseEvent(event);
+        return end[0] - start[0];
+    }
+
+    /**
+     * Largest single buffer the device accepts ({@code CL_DEVICE_MAX_MEM_ALLOC_SIZE}).
+     */
+    static long maxAllocBytes(cl_device_id device) {
+        long[] value = new long[1];
+        clGetDeviceInfo(device, CL_DEVICE_MAX_MEM_ALLOC_SIZE, Sizeof.cl_ulong, Pointer.to(value), null);
+        return value[0];
+    }
+
+    /**
+     * Total global memory of the device ({@code CL_DEVICE_GLOBAL_MEM_SIZE}).
+     */
+    static long globalMemBytes(cl_device_id device) {
+        long[] value = new long[1];
+        clGetDeviceInfo(device, CL_DEVICE_GLOBAL_MEM_SIZE, Sizeof.cl_ulong, Pointer.to(value), null);
+        return value[0];
+    }
+
+    /**
+     * Local (work-group shared) memory of the device ({@code CL_DEVICE_LOCAL_MEM_SIZE}).
+     */
+    static long localMemBytes(cl_device_id device) {
+        long[] value = new long[1];
+        clGetDeviceInfo(device, CL_DEVICE_LOCAL_MEM_SIZE, Sizeof.cl_ulong, Pointer.to(value), null);
+        return value[0];
+    }
+
+    private static void collectDevices(cl_platform_id platform, long type, String label, List<Device> devices) {
+        int[] numDevicesArr = new int[1];
+        int res = clGetDeviceIDs(platform, type, 0, null, numDevicesArr);
+        if (res != CL.CL_SUCCESS || numDevicesArr[0] == 0) {
+            return;
+        }
+        cl_device_id[] ids = new cl_device_id[numDevicesArr[0]];
+        clGetDeviceIDs(platform, type, ids.length, ids, null);
+        for (cl_device_id id : ids) {
+            devices.add(new Device(platform, id, label, deviceName(id)));
+        }
+    }
+
+    private static String deviceName(cl_device_id deviceId) {
+        long[] size = new long[1];
+        clGetDeviceInfo(deviceId, CL_DEVICE_NAME, 0, null, size);
+        byte[] data = new byte[(int) size[0]];
+        clGetDeviceInfo(deviceId, CL_DEVICE_NAME, size[0], Pointer.to(data), null);
+        return new String(data, StandardCharsets.UTF_8).trim();
+    }
+
+    /**
+     * Match count of one kernel launch with the phases it went through.
+     */
+    record KernelRun(int occurrences, GpuPhases phases) {
+    }
+
+    record Device(cl_platform_id platform, cl_device_id id, String typeLabel, String name) {
+
+        String label() {
+            return typeLabel + " (" + name + ")";
+        }
+    }
+}
@@ -32,28 +32,48 @@ public class ParallelCpuCounter implements WordCounter {
 
         ExecutorService executor = Executors.newFixedThreadPool(threadCount);
         long start = System.nanoTime();
+        int occurrences = countChunks(executor, normalizedText, normalizedTarget, threadCount);
+        executor.shutdown();
+        long elapsed = System.nanoTime() - start;
+        return new WordCountResult(name(), datasetName, occurrences, elapsed, threadCount, "CPU");
+    }
+
+    /**
+     * Splits {@code length} positions into at most {@code chunks} contiguous ranges. Entry {@code i}
+     * and {@code i + 1} delimit the start positions owned by chunk {@code i}; a chunk still reads up
+     * to {@code wordLen - 1} characters past its boundary so words spanning a seam are counted once.
+     */
+    static int[] chunkBounds(int length, int chunks) {
+        int chunkSize = Math.max(1, (int) Math.ceil((double) length / chunks));
+        int count = Math.min(chunks, (int) Math.ceil((double) length / chunkSize));
+        int[] bounds = new int[count + 1];
+        for (int i = 0; i < count; i++) {
+            bounds[i] = i * chunkSize;
+        }
+        bounds[count] = length;
+        return bounds;
+    }
+
+    /**
+     * Counts already normalized text split into {@code chunks} ranges on the given executor.
+     * The executor is not shut down, so long-lived pools can be reused across calls.
+     */
+    static int countChunks(ExecutorService executor, String text, String target, int chunks)
+            throws ExecutionException, InterruptedException {
         List<Future<Integer>> futures = new ArrayList<>();
-        int length = normalizedText.length();
-        int chunkSize = Math.max(1, (int) Math.ceil((double) length / threadCount));
-        for (int i = 0; i < threadCount; i++) {
-            int startIdx = i * chunkSize;
-            if (startIdx >= length) {
-                break;
-            }
-            int boundary = Math.min(length, startIdx + chunkSize);
-            futures.add(executor.submit(chunkTask(normalizedText, normalizedTarget, startIdx, boundary)));
+        int[] bounds = chunkBounds(text.length(), chunks);
+        for (int i = 0; i + 1 < bounds.length; i++) {
+            futures.add(executor.submit(chunkTask(text, target, bounds[i], bounds[i + 1])));
         }
 
         int occurrences = 0;
         for (Future<Integer> future : futures) {
             occurrences += future.get();
         }
-        executor.shutdown();
-        long elapsed = System.nanoTime() - start;
-        return new WordCountResult(name(), datasetName, occurrences, elapsed / 1_000_000, threadCount, "CPU");
+        return occurrences;
     }
 
-    private Callable<Integer> chunkTask(String text, String target, int startIdx, int boundary) {
+    private static Callable<Integer> chunkTask(String text, String target, int startIdx, int boundary) {
         int maxSearchEnd = Math.min(text.length(), boundary + target.length() - 1);
         return () -> countOccurrences(text, target, startIdx, boundary, maxSearchEnd);
     }
@@ -63,7 +83,7 @@ public class ParallelCpuCounter implements WordCounter {
      * The search window may extend beyond the boundary to capture words that overlap,
      * but only occurrences that start before the boundary are tallied.
      */
-    private int countOccurrences(String text, String target, int startIdx, int boundary, int maxSearchEnd) {
+    private static int countOccurrences(String text, String target, int startIdx, int boundary, int maxSearchEnd) {
         int count = 0;
         int idx = text.indexOf(target, startIdx);
         while (idx != -1 && idx < maxSearchEnd) {
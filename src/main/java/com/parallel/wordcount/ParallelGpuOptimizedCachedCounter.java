@@ -7,28 +7,39 @@ import org.jocl.cl_command_queue;
 import org.jocl.cl_context;
 import org.jocl.cl_context_properties;
 import org.jocl.cl_device_id;
+import org.jocl.cl_event;
 import org.jocl.cl_kernel;
 import org.jocl.cl_mem;
-import org.jocl.cl_platform_id;
 import org.jocl.cl_program;
 
 import java.nio.charset.StandardCharsets;
-import java.util.ArrayList;
-import java.util.List;
 import java.util.Locale;
 import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.ConcurrentHashMap;
 
 import static org.jocl.CL.*;
 
 /**
- * Variante otimizada que mantém o texto residente na GPU entre execuções
- * e mede apenas o tempo de kernel (exclui a cópia do texto).
+ * Variante otimizada que mantém o texto residente na GPU entre execuções.
+ * O tempo medido é o de kernel e leitura do contador, mais a criação e a cópia do texto quando ela acontece
+ * (primeira execução ou texto removido do cache); as fases ({@link GpuPhases}) detalham cada parte.
+ *
+ * <p>Os textos residentes ficam em um {@link GpuTextCache} por dispositivo, limitado a
+ * {@value #TEXT_CACHE_PROPERTY} MB (padrão: metade da memória global do dispositivo); os menos usados
+ * recentemente são liberados quando um texto novo não cabe.
+ *
+ * <p>{@link #openAsync} e {@link #countAsync} consultam o texto residente sem bloquear: várias consultas ficam em
+ * voo na fila e cada uma termina por callback de evento (veja {@link AsyncGpuQueries}).
  */
 public class ParallelGpuOptimizedCachedCounter implements WordCounter {
 
     private static final Map<String, CachedProgram> PROGRAM_CACHE = new ConcurrentHashMap<>();
-    private static final Map<String, CachedText> TEXT_CACHE = new ConcurrentHashMap<>();
+    private static final Map<String, GpuTextCache> TEXT_CACHES = new ConcurrentHashMap<>();
+    private static final Map<String, BlockingQueue<AsyncGpuQueries.Slot>> ASYNC_SLOTS = new ConcurrentHashMap<>();
+    static final String TEXT_CACHE_PROPERTY = "wordcount.opencl.text-cache-mb";
     private static final int LOCAL_SIZE = 256;
 
     private static final String KERNEL_SOURCE = """
@@ -77,51 +88,144 @@ public class ParallelGpuOptimizedCachedCounter implements WordCounter {
         if (targetWord.isBlank()) {
             throw new IllegalArgumentException("Target word must not be blank");
         }
+        long normalizeStart = System.nanoTime();
         String normalizedText = text.toLowerCase(Locale.ROOT);
         String normalizedTarget = targetWord.toLowerCase(Locale.ROOT);
         byte[] textBytes = normalizedText.getBytes(StandardCharsets.UTF_8);
         byte[] wordBytes = normalizedTarget.getBytes(StandardCharsets.UTF_8);
+        long normalizeNanos = System.nanoTime() - normalizeStart;
 
         if (wordBytes.length == 0 || textBytes.length == 0) {
             return new WordCountResult(name(), datasetName, 0, 0, null, "GPU");
         }
 
         CL.setExceptionsEnabled(true);
-        OpenClDevice device = selectDevice();
+        OpenClSupport.Device device = OpenClSupport.selectDevice();
         CachedProgram program = PROGRAM_CACHE.computeIfAbsent(device.name(), k -> buildProgram(device));
-        CachedText cachedText = TEXT_CACHE.compute(device.name() + "|" + datasetName,
-                (k, v) -> v == null || v.length() != textBytes.length ? createText(program, textBytes) : v);
+        GpuTextCache textCache = TEXT_CACHES.computeIfAbsent(device.name(), k -> new GpuTextCache(textCacheBudget(device)));
+        // Fases da criação e cópia do texto; ficam zeradas quando o texto já está residente.
+        GpuPhases[] textPhases = {new GpuPhases(0, 0, 0, 0, 0)};
+        long[] uploadNanos = {0};
+        try (GpuTextCache.Lease cachedText = textCache.acquire(datasetName, textBytes, bytes -> {
+            long uploadStart = System.nanoTime();
+            cl_mem textMem = upload(program, bytes, textPhases);
+            uploadNanos[0] = System.nanoTime() - uploadStart;
+            return textMem;
+        })) {
+            WordCountResult counted = countResident(program, cachedText, datasetName, wordBytes, device);
+            GpuPhases phases = textPhases[0].plus(counted.phases().withNormalize(normalizeNanos));
+            String details = "text_cache=" + (cachedText.hit() ? "hit " : "miss ") + textCache.stats();
+            return new WordCountResult(name(), datasetName, counted.occurrences(),
+                    uploadNanos[0] + counted.durationNanos(), null, counted.deviceType(), details, phases);
+        }
+    }
+
+    /**
+     * Sessão assíncrona sobre o texto do dataset, que fica residente (e protegido da remoção do cache) até
+     * {@link AsyncGpuQueries#close()} e o fim das consultas em voo. Normaliza e, se preciso, envia o texto uma vez.
+     */
+    public AsyncGpuQueries openAsync(String datasetName, String text) {
+        byte[] textBytes = text.toLowerCase(Locale.ROOT).getBytes(StandardCharsets.UTF_8);
+        if (textBytes.length == 0) {
+            throw new IllegalArgumentException("Text must not be empty");
+        }
+        CL.setExceptionsEnabled(true);
+        OpenClSupport.Device device = OpenClSupport.selectDevice();
+        CachedProgram program = PROGRAM_CACHE.computeIfAbsent(device.name(), k -> buildProgram(device));
+        GpuTextCache textCache = TEXT_CACHES.computeIfAbsent(device.name(), k -> new GpuTextCache(textCacheBudget(device)));
+        BlockingQueue<AsyncGpuQueries.Slot> slots = ASYNC_SLOTS.computeIfAbsent(device.name(),
+                k -> AsyncGpuQueries.newSlots(program.context(), AsyncGpuQueries.DEFAULT_IN_FLIGHT));
+        GpuTextCache.Lease cachedText = textCache.acquire(datasetName, textBytes,
+                bytes -> upload(program, bytes, new GpuPhases[1]));
+        return new AsyncGpuQueries(name() + "-Async", datasetName, device, program.queue(), program.kernel(),
+                cachedText, slots);
+    }
+
+    /**
+     * Uma consulta assíncrona avulsa; a sessão aberta para ela é fechada quando o resultado chega.
+     * Para muitas palavras no mesmo texto, prefira {@link #openAsync} e reutilize a sessão.
+     */
+    public CompletableFuture<WordCountResult> countAsync(String datasetName, String text, String targetWord) {
+        if (targetWord.isBlank()) {
+            throw new IllegalArgumentException("Target word must not be blank");
+        }
+        AsyncGpuQueries session = openAsync(datasetName, text);
+        try {
+            return session.countAsync(targetWord);
+        } finally {
+            session.close();
+        }
+    }
+
+    /**
+     * Estado do cache de textos de cada dispositivo usado até agora, por nome do dispositivo.
+     */
+    public static Map<String, GpuTextCache.Stats> textCacheStats() {
+        Map<String, GpuTextCache.Stats> stats = new TreeMap<>();
+        TEXT_CACHES.forEach((device, cache) -> stats.put(device, cache.stats()));
+        return stats;
+    }
+
+    private static long textCacheBudget(OpenClSupport.Device device) {
+        String configured = System.getProperty(TEXT_CACHE_PROPERTY, "").trim();
+        if (!configured.isEmpty()) {
+            return Long.parseLong(configured) * 1024 * 1024;
+        }
+        return Math.max(1, OpenClSupport.globalMemBytes(device.id()) / 2);
+    }
 
+    private static cl_mem upload(CachedProgram program, byte[] bytes, GpuPhases[] textPhases) {
+        long buffersStart = System.nanoTime();
+        cl_mem textMem = clCreateBuffer(program.context(), CL_MEM_READ_ONLY,
+                (long) Sizeof.cl_char * bytes.length, null, null);
+        long buffersNanos = System.nanoTime() - buffersStart;
+        cl_event upload = new cl_event();
+        clEnqueueWriteBuffer(program.queue(), textMem, CL_TRUE, 0, (long) Sizeof.cl_char * bytes.length,
+                Pointer.to(bytes), 0, null, upload);
+        textPhases[0] = new GpuPhases(0, buffersNanos, OpenClSupport.profiledNanos(upload), 0, 0);
+        return textMem;
+    }
+
+    private WordCountResult countResident(CachedProgram program, GpuTextCache.Lease cachedText, String datasetName,
+                                          byte[] wordBytes, OpenClSupport.Device device) {
         // Buffers pequenos (palavra e contador) ainda são copiados; medimos só kernel+leitura do contador.
+        long buffersStart = System.nanoTime();
         cl_mem wordMem = clCreateBuffer(program.context(), CL_MEM_READ_ONLY | CL_MEM_COPY_HOST_PTR,
                 (long) Sizeof.cl_char * wordBytes.length, Pointer.to(wordBytes), null);
         int[] zero = new int[]{0};
         cl_mem countMem = clCreateBuffer(program.context(), CL_MEM_READ_WRITE | CL_MEM_COPY_HOST_PTR,
                 Sizeof.cl_int, Pointer.to(zero), null);
+        long buffersNanos = System.nanoTime() - buffersStart;
 
         cl_kernel kernel = program.kernel();
-        clSetKernelArg(kernel, 0, Sizeof.cl_mem, Pointer.to(cachedText.textMem()));
-        clSetKernelArg(kernel, 1, Sizeof.cl_int, Pointer.to(new int[]{cachedText.length()}));
-        clSetKernelArg(kernel, 2, Sizeof.cl_mem, Pointer.to(wordMem));
-        clSetKernelArg(kernel, 3, Sizeof.cl_int, Pointer.to(new int[]{wordBytes.length}));
-        clSetKernelArg(kernel, 4, Sizeof.cl_mem, Pointer.to(countMem));
-        clSetKernelArg(kernel, 5, LOCAL_SIZE * Sizeof.cl_int, null);
-
         long[] globalWorkSize = new long[]{roundUp(LOCAL_SIZE, cachedText.length())};
         long[] localWorkSize = new long[]{LOCAL_SIZE};
 
         long start = System.nanoTime();
-        clEnqueueNDRangeKernel(program.queue(), kernel, 1, null, globalWorkSize, localWorkSize, 0, null, null);
+        cl_event kernelRun = new cl_event();
+        // O kernel é compartilhado com as sessões assíncronas: argumentos e enfileiramento sob o mesmo lock.
+        synchronized (kernel) {
+            clSetKernelArg(kernel, 0, Sizeof.cl_mem, Pointer.to(cachedText.mem()));
+            clSetKernelArg(kernel, 1, Sizeof.cl_int, Pointer.to(new int[]{cachedText.length()}));
+            clSetKernelArg(kernel, 2, Sizeof.cl_mem, Pointer.to(wordMem));
+            clSetKernelArg(kernel, 3, Sizeof.cl_int, Pointer.to(new int[]{wordBytes.length}));
+            clSetKernelArg(kernel, 4, Sizeof.cl_mem, Pointer.to(countMem));
+            clSetKernelArg(kernel, 5, LOCAL_SIZE * Sizeof.cl_int, null);
+            clEnqueueNDRangeKernel(program.queue(), kernel, 1, null, globalWorkSize, localWorkSize, 0, null, kernelRun);
+        }
         clFinish(program.queue());
         int[] result = new int[1];
-        clEnqueueReadBuffer(program.queue(), countMem, CL_TRUE, 0, Sizeof.cl_int, Pointer.to(result), 0, null, null);
+        cl_event readback = new cl_event();
+        clEnqueueReadBuffer(program.queue(), countMem, CL_TRUE, 0, Sizeof.cl_int, Pointer.to(result), 0, null, readback);
         long elapsed = System.nanoTime() - start;
 
         clReleaseMemObject(wordMem);
         clReleaseMemObject(countMem);
 
-        String deviceLabel = device.typeLabel() + " (" + device.name() + ")";
-        return new WordCountResult(name(), datasetName, result[0], elapsed / 1_000_000, null, deviceLabel);
+        GpuPhases phases = new GpuPhases(0, buffersNanos, 0,
+                OpenClSupport.profiledNanos(kernelRun), OpenClSupport.profiledNanos(readback));
+        String deviceLabel = device.label();
+        return new WordCountResult(name(), datasetName, result[0], elapsed, null, deviceLabel, null, phases);
     }
 
     private long roundUp(long groupSize, long globalSize) {
@@ -129,93 +233,19 @@ public class ParallelGpuOptimizedCachedCounter implements WordCounter {
         return r == 0 ? globalSize : globalSize + groupSize - r;
     }
 
-    private CachedProgram buildProgram(OpenClDevice device) {
+    private CachedProgram buildProgram(OpenClSupport.Device device) {
         cl_context_properties contextProperties = new cl_context_properties();
         contextProperties.addProperty(CL_CONTEXT_PLATFORM, device.platform());
         cl_context context = clCreateContext(
                 contextProperties, 1, new cl_device_id[]{device.id()}, null, null, null);
 
-        cl_command_queue queue = clCreateCommandQueue(context, device.id(), 0, null);
+        cl_command_queue queue = OpenClSupport.createProfilingQueue(context, device.id());
 
-        cl_program program = clCreateProgramWithSource(context, 1, new String[]{KERNEL_SOURCE}, null, null);
-        int buildResult = clBuildProgram(program, 0, null, null, null, null);
-        if (buildResult != CL_SUCCESS) {
-            throw new IllegalStateException("OpenCL program build failed: " + buildLog(program, device.id()));
-        }
+        cl_program program = ProgramBinaryCache.build(context, device, KERNEL_SOURCE);
         cl_kernel kernel = clCreateKernel(program, "countWordOpt", null);
         return new CachedProgram(context, queue, program, kernel);
     }
 
-    private CachedText createText(CachedProgram program, byte[] textBytes) {
-        cl_mem textMem = clCreateBuffer(program.context(), CL_MEM_READ_ONLY | CL_MEM_COPY_HOST_PTR,
-                (long) Sizeof.cl_char * textBytes.length, Pointer.to(textBytes), null);
-        return new CachedText(textMem, textBytes.length);
-    }
-
-    private String buildLog(cl_program program, cl_device_id device) {
-        long[] logSize = new long[1];
-        clGetProgramBuildInfo(program, device, CL_PROGRAM_BUILD_LOG, 0, null, logSize);
-        byte[] logData = new byte[(int) logSize[0]];
-        clGetProgramBuildInfo(program, device, CL_PROGRAM_BUILD_LOG, logSize[0], Pointer.to(logData), null);
-        return new String(logData, StandardCharsets.UTF_8);
-    }
-
-    private OpenClDevice selectDevice() {
-        int[] numPlatformsArr = new int[1];
-        clGetPlatformIDs(0, null, numPlatformsArr);
-        if (numPlatformsArr[0] == 0) {
-            throw new IllegalStateException("No OpenCL platforms found. Install GPU/CPU OpenCL drivers.");
-        }
-        cl_platform_id[] platforms = new cl_platform_id[numPlatformsArr[0]];
-        clGetPlatformIDs(platforms.length, platforms, null);
-
-        List<OpenClDevice> devices = new ArrayList<>();
-        for (cl_platform_id platform : platforms) {
-            collectDevices(platform, CL_DEVICE_TYPE_GPU, "GPU", devices);
-        }
-        if (devices.isEmpty()) {
-            for (cl_platform_id platform : platforms) {
-                collectDevices(platform, CL_DEVICE_TYPE_ACCELERATOR, "Accelerator", devices);
-            }
-        }
-        if (devices.isEmpty()) {
-            for (cl_platform_id platform : platforms) {
-                collectDevices(platform, CL_DEVICE_TYPE_CPU, "CPU", devices);
-            }
-        }
-        if (devices.isEmpty()) {
-            throw new IllegalStateException("No suitable OpenCL devices available.");
-        }
-        return devices.get(0);
-    }
-
-    private void collectDevices(cl_platform_id platform, long type, String label, List<OpenClDevice> devices) {
-        int[] numDevicesArr = new int[1];
-        int res = clGetDeviceIDs(platform, type, 0, null, numDevicesArr);
-        if (res != CL_SUCCESS || numDevicesArr[0] == 0) {
-            return;
-        }
-        cl_device_id[] ids = new cl_device_id[numDevicesArr[0]];
-        clGetDeviceIDs(platform, type, ids.length, ids, null);
-        for (cl_device_id id : ids) {
-            devices.add(new OpenClDevice(platform, id, label, deviceName(id)));
-        }
-    }
-
-    private String deviceName(cl_device_id deviceId) {
-        long[] size = new long[1];
-        clGetDeviceInfo(deviceId, CL_DEVICE_NAME, 0, null, size);
-        byte[] data = new byte[(int) size[0]];
-        clGetDeviceInfo(deviceId, CL_DEVICE_NAME, size[0], Pointer.to(data), null);
-        return new String(data, StandardCharsets.UTF_8).trim();
-    }
-
-    private record OpenClDevice(cl_platform_id platform, cl_device_id id, String typeLabel, String name) {
-    }
-
     private record CachedProgram(cl_context context, cl_command_queue queue, cl_program program, cl_kernel kernel) {
     }
-
-    private record CachedText(cl_mem textMem, int length) {
-    }
 }
@@ -7,14 +7,12 @@ import org.jocl.cl_command_queue;
 import org.jocl.cl_context;
 import org.jocl.cl_context_properties;
 import org.jocl.cl_device_id;
+import org.jocl.cl_event;
 import org.jocl.cl_kernel;
 import org.jocl.cl_mem;
-import org.jocl.cl_platform_id;
 import org.jocl.cl_program;
 
 import java.nio.charset.StandardCharsets;
-import java.util.ArrayList;
-import java.util.List;
 import java.util.Locale;
 import java.util.Map;
 import java.util.concurrent.ConcurrentHashMap;
@@ -27,9 +25,9 @@ import static org.jocl.CL.*;
 public class ParallelGpuOptimizedCounter implements WordCounter {
 
     private static final Map<String, CachedResources> CACHE = new ConcurrentHashMap<>();
-    private static final int LOCAL_SIZE = 256;
+    static final int LOCAL_SIZE = 256;
 
-    private static final String KERNEL_SOURCE = """
+    static final String KERNEL_SOURCE = """
             __kernel void countWordOpt(__global const uchar* text,
                                        const int textLen,
                                        __global const uchar* word,
@@ -75,143 +73,105 @@ public class ParallelGpuOptimizedCounter implements WordCounter {
         if (targetWord.isBlank()) {
             throw new IllegalArgumentException("Target word must not be blank");
         }
+        long normalizeStart = System.nanoTime();
         String normalizedText = text.toLowerCase(Locale.ROOT);
         String normalizedTarget = targetWord.toLowerCase(Locale.ROOT);
         byte[] textBytes = normalizedText.getBytes(StandardCharsets.UTF_8);
         byte[] wordBytes = normalizedTarget.getBytes(StandardCharsets.UTF_8);
+        long normalizeNanos = System.nanoTime() - normalizeStart;
 
         if (wordBytes.length == 0 || textBytes.length == 0) {
             return new WordCountResult(name(), datasetName, 0, 0, null, "GPU");
         }
 
         CL.setExceptionsEnabled(true);
-        OpenClDevice device = selectDevice();
+        OpenClSupport.Device device = OpenClSupport.selectDevice();
         long start = System.nanoTime();
-        int occurrences = runKernel(device, textBytes, wordBytes);
+        OpenClSupport.KernelRun run = runKernel(device, textBytes, textBytes.length, wordBytes);
         long elapsed = System.nanoTime() - start;
-        String deviceLabel = device.typeLabel() + " (" + device.name() + ")";
-        return new WordCountResult(name(), datasetName, occurrences, elapsed / 1_000_000, null, deviceLabel);
+        String deviceLabel = device.label();
+        return new WordCountResult(name(), datasetName, run.occurrences(), elapsed, null, deviceLabel, null,
+                run.phases().withNormalize(normalizeNanos));
     }
 
-    private int runKernel(OpenClDevice device, byte[] textBytes, byte[] wordBytes) {
+    /**
+     * Counts matches of {@code wordBytes} in the first {@code length} bytes of {@code textBytes} on
+     * {@code device}, reusing the cached context, queue and kernel. Only those bytes are uploaded. The returned
+     * phases leave normalization at zero for the caller to fill in.
+     */
+    static OpenClSupport.KernelRun runKernel(OpenClSupport.Device device, byte[] textBytes, int length, byte[] wordBytes) {
+        return runKernel(device, textBytes, 0, length, wordBytes);
+    }
+
+    /**
+     * Same as {@link #runKernel(OpenClSupport.Device, byte[], int, byte[])} for the {@code length} bytes starting
+     * at {@code offset}.
+     */
+    static OpenClSupport.KernelRun runKernel(OpenClSupport.Device device, byte[] textBytes, int offset, int length,
+                                             byte[] wordBytes) {
         CachedResources resources = CACHE.computeIfAbsent(device.name(), k -> buildResources(device));
         cl_context context = resources.context();
         cl_command_queue queue = resources.queue();
         cl_kernel kernel = resources.kernel();
 
-        cl_mem textMem = clCreateBuffer(context, CL_MEM_READ_ONLY | CL_MEM_COPY_HOST_PTR,
-                (long) Sizeof.cl_char * textBytes.length, Pointer.to(textBytes), null);
+        long buffersStart = System.nanoTime();
+        cl_mem textMem = clCreateBuffer(context, CL_MEM_READ_ONLY, (long) Sizeof.cl_char * length, null, null);
         cl_mem wordMem = clCreateBuffer(context, CL_MEM_READ_ONLY | CL_MEM_COPY_HOST_PTR,
                 (long) Sizeof.cl_char * wordBytes.length, Pointer.to(wordBytes), null);
         int[] zero = new int[]{0};
         cl_mem countMem = clCreateBuffer(context, CL_MEM_READ_WRITE | CL_MEM_COPY_HOST_PTR,
                 Sizeof.cl_int, Pointer.to(zero), null);
+        long buffersNanos = System.nanoTime() - buffersStart;
+
+        // The text is written explicitly (not CL_MEM_COPY_HOST_PTR) so the transfer has its own profiled event.
+        cl_event upload = new cl_event();
+        clEnqueueWriteBuffer(queue, textMem, CL_TRUE, 0, (long) Sizeof.cl_char * length,
+                Pointer.to(textBytes).withByteOffset(offset), 0, null, upload);
 
         clSetKernelArg(kernel, 0, Sizeof.cl_mem, Pointer.to(textMem));
-        clSetKernelArg(kernel, 1, Sizeof.cl_int, Pointer.to(new int[]{textBytes.length}));
+        clSetKernelArg(kernel, 1, Sizeof.cl_int, Pointer.to(new int[]{length}));
         clSetKernelArg(kernel, 2, Sizeof.cl_mem, Pointer.to(wordMem));
         clSetKernelArg(kernel, 3, Sizeof.cl_int, Pointer.to(new int[]{wordBytes.length}));
         clSetKernelArg(kernel, 4, Sizeof.cl_mem, Pointer.to(countMem));
         clSetKernelArg(kernel, 5, LOCAL_SIZE * Sizeof.cl_int, null);
 
-        long[] globalWorkSize = new long[]{roundUp(LOCAL_SIZE, textBytes.length)};
+        long[] globalWorkSize = new long[]{roundUp(LOCAL_SIZE, length)};
         long[] localWorkSize = new long[]{LOCAL_SIZE};
 
-        clEnqueueNDRangeKernel(queue, kernel, 1, null, globalWorkSize, localWorkSize, 0, null, null);
+        cl_event kernelRun = new cl_event();
+        clEnqueueNDRangeKernel(queue, kernel, 1, null, globalWorkSize, localWorkSize, 0, null, kernelRun);
         clFinish(queue);
 
         int[] result = new int[1];
-        clEnqueueReadBuffer(queue, countMem, CL_TRUE, 0, Sizeof.cl_int, Pointer.to(result), 0, null, null);
+        cl_event readback = new cl_event();
+        clEnqueueReadBuffer(queue, countMem, CL_TRUE, 0, Sizeof.cl_int, Pointer.to(result), 0, null, readback);
 
         clReleaseMemObject(textMem);
         clReleaseMemObject(wordMem);
         clReleaseMemObject(countMem);
-        return result[0];
+        GpuPhases phases = new GpuPhases(0, buffersNanos, OpenClSupport.profiledNanos(upload),
+                OpenClSupport.profiledNanos(kernelRun), OpenClSupport.profiledNanos(readback));
+        return new OpenClSupport.KernelRun(result[0], phases);
     }
 
-    private long roundUp(long groupSize, long globalSize) {
+    static long roundUp(long groupSize, long globalSize) {
         long r = globalSize % groupSize;
         return r == 0 ? globalSize : globalSize + groupSize - r;
     }
 
-    private CachedResources buildResources(OpenClDevice device) {
+    private static CachedResources buildResources(OpenClSupport.Device device) {
         cl_context_properties contextProperties = new cl_context_properties();
         contextProperties.addProperty(CL_CONTEXT_PLATFORM, device.platform());
         cl_context context = clCreateContext(
                 contextProperties, 1, new cl_device_id[]{device.id()}, null, null, null);
 
-        cl_command_queue queue = clCreateCommandQueue(context, device.id(), 0, null);
+        cl_command_queue queue = OpenClSupport.createProfilingQueue(context, device.id());
 
-        cl_program program = clCreateProgramWithSource(context, 1, new String[]{KERNEL_SOURCE}, null, null);
-        int buildResult = clBuildProgram(program, 0, null, null, null, null);
-        if (buildResult != CL_SUCCESS) {
-            throw new IllegalStateException("OpenCL program build failed: " + buildLog(program, device.id()));
-        }
+        cl_program program = ProgramBinaryCache.build(context, device, KERNEL_SOURCE);
         cl_kernel kernel = clCreateKernel(program, "countWordOpt", null);
         return new CachedResources(context, queue, program, kernel);
     }
 
-    private String buildLog(cl_program program, cl_device_id device) {
-        long[] logSize = new long[1];
-        clGetProgramBuildInfo(program, device, CL_PROGRAM_BUILD_LOG, 0, null, logSize);
-        byte[] logData = new byte[(int) logSize[0]];
-        clGetProgramBuildInfo(program, device, CL_PROGRAM_BUILD_LOG, logSize[0], Pointer.to(logData), null);
-        return new String(logData, StandardCharsets.UTF_8);
-    }
-
-    private OpenClDevice selectDevice() {
-        int[] numPlatformsArr = new int[1];
-        clGetPlatformIDs(0, null, numPlatformsArr);
-        if (numPlatformsArr[0] == 0) {
-            throw new IllegalStateException("No OpenCL platforms found. Install GPU/CPU OpenCL drivers.");
-        }
-        cl_platform_id[] platforms = new cl_platform_id[numPlatformsArr[0]];
-        clGetPlatformIDs(platforms.length, platforms, null);
-
-        List<OpenClDevice> devices = new ArrayList<>();
-        for (cl_platform_id platform : platforms) {
-            collectDevices(platform, CL_DEVICE_TYPE_GPU, "GPU", devices);
-        }
-        if (devices.isEmpty()) {
-            for (cl_platform_id platform : platforms) {
-                collectDevices(platform, CL_DEVICE_TYPE_ACCELERATOR, "Accelerator", devices);
-            }
-        }
-        if (devices.isEmpty()) {
-            for (cl_platform_id platform : platforms) {
-                collectDevices(platform, CL_DEVICE_TYPE_CPU, "CPU", devices);
-            }
-        }
-        if (devices.isEmpty()) {
-            throw new IllegalStateException("No suitable OpenCL devices available.");
-        }
-        return devices.get(0);
-    }
-
-    private void collectDevices(cl_platform_id platform, long type, String label, List<OpenClDevice> devices) {
-        int[] numDevicesArr = new int[1];
-        int res = clGetDeviceIDs(platform, type, 0, null, numDevicesArr);
-        if (res != CL_SUCCESS || numDevicesArr[0] == 0) {
-            return;
-        }
-        cl_device_id[] ids = new cl_device_id[numDevicesArr[0]];
-        clGetDeviceIDs(platform, type, ids.length, ids, null);
-        for (cl_device_id id : ids) {
-            devices.add(new OpenClDevice(platform, id, label, deviceName(id)));
-        }
-    }
-
-    private String deviceName(cl_device_id deviceId) {
-        long[] size = new long[1];
-        clGetDeviceInfo(deviceId, CL_DEVICE_NAME, 0, null, size);
-        byte[] data = new byte[(int) size[0]];
-        clGetDeviceInfo(deviceId, CL_DEVICE_NAME, size[0], Pointer.to(data), null);
-        return new String(data, StandardCharsets.UTF_8).trim();
-    }
-
-    private record OpenClDevice(cl_platform_id platform, cl_device_id id, String typeLabel, String name) {
-    }
-
     private record CachedResources(cl_context context, cl_command_queue queue, cl_program program, cl_kernel kernel) {
     }
 }
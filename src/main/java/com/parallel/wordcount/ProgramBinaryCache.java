@@ -0,0 +1,164 @@
+package com.parallel.wordcount;
+
+import org.jocl.CLException;
+import org.jocl.Pointer;
+import org.jocl.Sizeof;
+import org.jocl.cl_context;
+import org.jocl.cl_device_id;
+import org.jocl.cl_program;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+
+import static org.jocl.CL.CL_DEVICE_NAME;
+import static org.jocl.CL.CL_DRIVER_VERSION;
+import static org.jocl.CL.CL_PROGRAM_BINARIES;
+import static org.jocl.CL.CL_PROGRAM_BINARY_SIZES;
+import static org.jocl.CL.CL_SUCCESS;
+import static org.jocl.CL.clBuildProgram;
+import static org.jocl.CL.clCreateProgramWithBinary;
+import static org.jocl.CL.clCreateProgramWithSource;
+import static org.jocl.CL.clGetDeviceInfo;
+import static org.jocl.CL.clGetProgramInfo;
+import static org.jocl.CL.clReleaseProgram;
+
+/**
+ * Builds OpenCL programs through an on-disk cache of compiled binaries, so only the first process on a machine
+ * pays for compiling {@code KERNEL_SOURCE}.
+ *
+ * <p>Binaries are stored as {@code <sha-256>.bin}, hashed over the device name, the driver version and the
+ * kernel source, so a driver update or an edited kernel simply misses the cache. A binary the driver rejects
+ * (at creation or build time) is ignored and the program is rebuilt from source, which also overwrites the
+ * bad file. The directory comes from {@value #CACHE_DIR_PROPERTY} (default {@code ~/.cache/wordcount/opencl});
+ * the value {@code off} disables the cache. I/O errors on the cache never fail a build.
+ */
+final class ProgramBinaryCache {
+
+    static final String CACHE_DIR_PROPERTY = "wordcount.opencl.cache-dir";
+
+    private ProgramBinaryCache() {
+    }
+
+    /**
+     * Built program for {@code source} on {@code device}, from the cached binary when one is usable.
+     */
+    static cl_program build(cl_context context, OpenClSupport.Device device, String source) {
+        Path cacheFile = cacheFile(device.id(), source);
+        if (cacheFile != null && Files.isRegularFile(cacheFile)) {
+            cl_program cached = fromBinary(context, device.id(), cacheFile);
+            if (cached != null) {
+                return cached;
+            }
+        }
+        cl_program program = clCreateProgramWithSource(context, 1, new String[]{source}, null, null);
+        int buildResult;
+        try {
+            buildResult = clBuildProgram(program, 0, null, null, null, null);
+        } catch (CLException e) {
+            buildResult = e.getStatus();
+        }
+        if (buildResult != CL_SUCCESS) {
+            throw new IllegalStateException("OpenCL program build failed: " + OpenClSupport.buildLog(program, device.id()));
+        }
+        if (cacheFile != null) {
+            store(program, cacheFile);
+        }
+        return program;
+    }
+
+    private static cl_program fromBinary(cl_context context, cl_device_id device, Path cacheFile) {
+        byte[] binary;
+        try {
+            binary = Files.readAllBytes(cacheFile);
+        } catch (IOException e) {
+            return null;
+        }
+        cl_program program = null;
+        try {
+            int[] binaryStatus = new int[1];
+            int[] error = new int[1];
+            program = clCreateProgramWithBinary(context, 1, new cl_device_id[]{device},
+                    new long[]{binary.length}, new byte[][]{binary}, binaryStatus, error);
+            if (binaryStatus[0] != CL_SUCCESS || error[0] != CL_SUCCESS
+                    || clBuildProgram(program, 0, null, null, null, null) != CL_SUCCESS) {
+                clReleaseProgram(program);
+                return null;
+            }
+            return program;
+        } catch (CLException e) {
+            if (program != null) {
+                clReleaseProgram(program);
+            }
+            return null;
+        }
+    }
+
+    private static void store(cl_program program, Path cacheFile) {
+        long[] size = new long[1];
+        clGetProgramInfo(program, CL_PROGRAM_BINARY_SIZES, Sizeof.size_t, Pointer.to(size), null);
+        if (size[0] == 0) {
+            return;
+        }
+        byte[] binary = new byte[(int) size[0]];
+        clGetProgramInfo(program, CL_PROGRAM_BINARIES, Sizeof.POINTER, Pointer.to(Pointer.to(binary)), null);
+        try {
+            Files.createDirectories(cacheFile.getParent());
+            // Written aside and moved, so a concurrent process never loads a half-written binary.
+            Path partial = Files.createTempFile(cacheFile.getParent(), cacheFile.getFileName().toString(), ".tmp");
+            Files.write(partial, binary);
+            Files.move(partial, cacheFile, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (IOException e) {
+            // Best effort: the next process simply builds from source again.
+        }
+    }
+
+    private static Path cacheFile(cl_device_id device, String source) {
+        Path dir = cacheDir();
+        return dir == null ? null : dir.resolve(programKey(device, source) + ".bin");
+    }
+
+    /**
+     * Directory of the cached binaries, or null when the cache is {@code off}.
+     */
+    static Path cacheDir() {
+        String configured = System.getProperty(CACHE_DIR_PROPERTY, "").trim();
+        if (configured.equalsIgnoreCase("off")) {
+            return null;
+        }
+        return configured.isEmpty()
+                ? Paths.get(System.getProperty("user.home"), ".cache", "wordcount", "opencl")
+                : Paths.get(configured);
+    }
+
+    /**
+     * SHA-256 over device name, driver version and source: changes whenever a compiled binary would.
+     */
+    static String programKey(cl_device_id device, String source) {
+        String key = deviceString(device, CL_DEVICE_NAME) + '\n' + deviceString(device, CL_DRIVER_VERSION) + '\n' + source;
+        return sha256(key);
+    }
+
+    private static String deviceString(cl_device_id device, int param) {
+        long[] size = new long[1];
+        clGetDeviceInfo(device, param, 0, null, size);
+        byte[] data = new byte[(int) size[0]];
+        clGetDeviceInfo(device, param, size[0], Pointer.to(data), null);
+        return new String(data, StandardCharsets.UTF_8).trim();
+    }
+
+    private static String sha256(String value) {
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(value.getBytes(StandardCharsets.UTF_8));
+            return HexFormat.of().formatHex(digest);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+}
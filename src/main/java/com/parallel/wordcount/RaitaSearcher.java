@@ -0,0 +1,52 @@
+package com.parallel.wordcount;
+
+/**
+ * Raita's variant of Horspool: checks the last, first and middle chars before the full comparison,
+ * which rejects most windows of natural-language text after one or two reads.
+ */
+final class RaitaSearcher implements Searcher {
+
+    private final HorspoolSearcher horspool;
+
+    RaitaSearcher(String pattern) {
+        this.horspool = new HorspoolSearcher(pattern);
+    }
+
+    @Override
+    public int patternLength() {
+        return horspool.pattern.length;
+    }
+
+    @Override
+    public int indexOf(String text, int from, int limit) {
+        char[] pattern = horspool.pattern;
+        int[] shift = horspool.shift;
+        int m = pattern.length;
+        int middle = m / 2;
+        char firstChar = pattern[0];
+        char middleChar = pattern[middle];
+        char lastChar = pattern[m - 1];
+        int last = Math.min(limit, text.length() - m + 1);
+        int j = from;
+        while (j < last) {
+            char tail = text.charAt(j + m - 1);
+            if (tail == lastChar
+                    && text.charAt(j) == firstChar
+                    && text.charAt(j + middle) == middleChar
+                    && matchesInner(text, j, pattern)) {
+                return j;
+            }
+            j += shift[tail & 0xFF];
+        }
+        return -1;
+    }
+
+    private static boolean matchesInner(String text, int offset, char[] pattern) {
+        for (int i = 1; i < pattern.length - 1; i++) {
+            if (text.charAt(offset + i) != pattern[i]) {
+                return false;
+            }
+        }
+        return true;
+    }
+}
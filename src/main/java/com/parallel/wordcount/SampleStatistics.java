@@ -0,0 +1,96 @@
+package com.parallel.wordcount;
+
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Summary of the nanosecond samples of one (dataset, method, threads) cell.
+ *
+ * <p>Percentiles use the nearest-rank definition; {@code ci95Nanos} is the half-width of the 95% confidence
+ * interval of the mean (Student's t); outliers are samples outside Tukey's fences (1.5 IQR beyond the quartiles).
+ */
+public record SampleStatistics(
+        String method,
+        String dataset,
+        Integer threads,
+        String deviceType,
+        int samples,
+        long minNanos,
+        long medianNanos,
+        double meanNanos,
+        long p90Nanos,
+        long p99Nanos,
+        double stddevNanos,
+        double ci95Nanos,
+        int outliers) {
+
+    /**
+     * Two-sided 95% Student's t critical values for 1 to 30 degrees of freedom; 1.96 beyond that.
+     */
+    private static final double[] T_95 = {
+            12.706, 4.303, 3.182, 2.776, 2.571, 2.447, 2.365, 2.306, 2.262, 2.228,
+            2.201, 2.179, 2.160, 2.145, 2.131, 2.120, 2.110, 2.101, 2.093, 2.086,
+            2.080, 2.074, 2.069, 2.064, 2.060, 2.056, 2.052, 2.048, 2.045, 2.042};
+
+    /**
+     * Statistics of {@code samples}, which must all belong to the same cell; labels are taken from the first.
+     */
+    public static SampleStatistics of(List<WordCountResult> samples) {
+        if (samples.isEmpty()) {
+            throw new IllegalArgumentException("At least one sample is required");
+        }
+        int n = samples.size();
+        long[] sorted = new long[n];
+        double sum = 0;
+        for (int i = 0; i < n; i++) {
+            sorted[i] = samples.get(i).durationNanos();
+            sum += sorted[i];
+        }
+        Arrays.sort(sorted);
+        double mean = sum / n;
+        double squares = 0;
+        for (long value : sorted) {
+            squares += (value - mean) * (value - mean);
+        }
+        double stddev = n > 1 ? Math.sqrt(squares / (n - 1)) : 0.0;
+        double ci95 = n > 1 ? criticalT(n - 1) * stddev / Math.sqrt(n) : Double.POSITIVE_INFINITY;
+
+        long median = n % 2 == 1 ? sorted[n / 2] : (sorted[n / 2 - 1] + sorted[n / 2]) / 2;
+        long q1 = percentile(sorted, 0.25);
+        long q3 = percentile(sorted, 0.75);
+        double fence = 1.5 * (q3 - q1);
+        int outliers = 0;
+        for (long value : sorted) {
+            if (value < q1 - fence || value > q3 + fence) {
+                outliers++;
+            }
+        }
+
+        WordCountResult first = samples.get(0);
+        return new SampleStatistics(first.method(), first.dataset(), first.threads(), first.deviceType(), n,
+                sorted[0], median, mean, percentile(sorted, 0.90), percentile(sorted, 0.99), stddev, ci95, outliers);
+    }
+
+    /**
+     * Confidence interval half-width relative to the mean (0.05 means the mean is known within +-5%).
+     */
+    public double relativeCi() {
+        return meanNanos == 0 ? 0.0 : ci95Nanos / meanNanos;
+    }
+
+    /**
+     * Series label for charts: the method plus the thread count when there is more than one.
+     */
+    public String label() {
+        return threads != null && threads > 1 ? method + " (" + threads + "t)" : method;
+    }
+
+    private static long percentile(long[] sorted, double p) {
+        int rank = (int) Math.ceil(p * sorted.length);
+        return sorted[Math.max(0, rank - 1)];
+    }
+
+    private static double criticalT(int degreesOfFreedom) {
+        return degreesOfFreedom <= T_95.length ? T_95[degreesOfFreedom - 1] : 1.96;
+    }
+}
@@ -0,0 +1,45 @@
+package com.parallel.wordcount;
+
+import java.util.Arrays;
+import java.util.Locale;
+import java.util.function.Function;
+
+/**
+ * Search primitives available to {@link SearcherSerialCpuCounter} and {@link SearcherParallelCpuCounter}.
+ */
+public enum SearchAlgorithm {
+    INDEX_OF("indexof", IndexOfSearcher::new),
+    HORSPOOL("horspool", HorspoolSearcher::new),
+    RAITA("raita", RaitaSearcher::new),
+    TWO_WAY("two-way", TwoWaySearcher::new);
+
+    private final String label;
+    private final Function<String, Searcher> factory;
+
+    SearchAlgorithm(String label, Function<String, Searcher> factory) {
+        this.label = label;
+        this.factory = factory;
+    }
+
+    public String label() {
+        return label;
+    }
+
+    public Searcher compile(String pattern) {
+        if (pattern.isEmpty()) {
+            throw new IllegalArgumentException("Pattern must not be empty");
+        }
+        return factory.apply(pattern);
+    }
+
+    public static SearchAlgorithm fromLabel(String raw) {
+        String value = raw.trim().toLowerCase(Locale.ROOT);
+        for (SearchAlgorithm algorithm : values()) {
+            if (algorithm.label.equals(value) || algorithm.name().toLowerCase(Locale.ROOT).equals(value)) {
+                return algorithm;
+            }
+        }
+        throw new IllegalArgumentException("Algoritmo desconhecido: " + raw + " (opcoes: "
+                + String.join(", ", Arrays.stream(values()).map(SearchAlgorithm::label).toList()) + ")");
+    }
+}
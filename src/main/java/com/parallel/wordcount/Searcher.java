@@ -0,0 +1,16 @@
+package com.parallel.wordcount;
+
+/**
+ * Substring search primitive compiled for one pattern. Implementations may keep per-pattern tables
+ * and are safe to share between threads once built.
+ */
+public interface Searcher {
+
+    int patternLength();
+
+    /**
+     * Returns the first match starting in {@code [from, limit)}, or -1. A match may extend past
+     * {@code limit}; only its start position is bounded.
+     */
+    int indexOf(String text, int from, int limit);
+}
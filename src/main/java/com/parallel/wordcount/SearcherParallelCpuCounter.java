@@ -0,0 +1,58 @@
+package com.parallel.wordcount;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+/**
+ * Chunked parallel counting driven by a pluggable {@link SearchAlgorithm}. The pattern tables are
+ * built once and shared read-only by every chunk.
+ */
+public class SearcherParallelCpuCounter implements WordCounter {
+
+    private final SearchAlgorithm algorithm;
+    private final int threadCount;
+
+    public SearcherParallelCpuCounter(SearchAlgorithm algorithm, int threadCount) {
+        this.algorithm = algorithm;
+        this.threadCount = Math.max(1, threadCount);
+    }
+
+    @Override
+    public String name() {
+        return "ParallelCPU-" + algorithm.label();
+    }
+
+    @Override
+    public WordCountResult count(String datasetName, String text, String targetWord) throws ExecutionException, InterruptedException {
+        if (targetWord.isBlank()) {
+            throw new IllegalArgumentException("Target word must not be blank");
+        }
+        String normalizedText = text.toLowerCase(Locale.ROOT);
+        String normalizedTarget = targetWord.toLowerCase(Locale.ROOT);
+
+        ExecutorService executor = Executors.newFixedThreadPool(threadCount);
+        long start = System.nanoTime();
+        Searcher searcher = algorithm.compile(normalizedTarget);
+        List<Future<Integer>> futures = new ArrayList<>();
+        int[] bounds = ParallelCpuCounter.chunkBounds(normalizedText.length(), threadCount);
+        for (int i = 0; i + 1 < bounds.length; i++) {
+            int startIdx = bounds[i];
+            int boundary = bounds[i + 1];
+            futures.add(executor.submit(() ->
+                    SearcherSerialCpuCounter.countOccurrences(searcher, normalizedText, startIdx, boundary)));
+        }
+
+        int occurrences = 0;
+        for (Future<Integer> future : futures) {
+            occurrences += future.get();
+        }
+        executor.shutdown();
+        long elapsed = System.nanoTime() - start;
+        return new WordCountResult(name(), datasetName, occurrences, elapsed, threadCount, "CPU");
+    }
+}
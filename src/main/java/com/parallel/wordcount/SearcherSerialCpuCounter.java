@@ -0,0 +1,48 @@
+package com.parallel.wordcount;
+
+import java.util.Locale;
+
+/**
+ * Serial counting driven by a pluggable {@link SearchAlgorithm}. Normalization happens before timing,
+ * exactly as in {@link SerialCpuCounter}, so only the search primitive differs between the two.
+ */
+public class SearcherSerialCpuCounter implements WordCounter {
+
+    private final SearchAlgorithm algorithm;
+
+    public SearcherSerialCpuCounter(SearchAlgorithm algorithm) {
+        this.algorithm = algorithm;
+    }
+
+    @Override
+    public String name() {
+        return "SerialCPU-" + algorithm.label();
+    }
+
+    @Override
+    public WordCountResult count(String datasetName, String text, String targetWord) {
+        if (targetWord.isBlank()) {
+            throw new IllegalArgumentException("Target word must not be blank");
+        }
+        String normalizedText = text.toLowerCase(Locale.ROOT);
+        String normalizedTarget = targetWord.toLowerCase(Locale.ROOT);
+        long start = System.nanoTime();
+        Searcher searcher = algorithm.compile(normalizedTarget);
+        int occurrences = countOccurrences(searcher, normalizedText, 0, normalizedText.length());
+        long elapsed = System.nanoTime() - start;
+        return new WordCountResult(name(), datasetName, occurrences, elapsed, 1, "CPU");
+    }
+
+    /**
+     * Counts non-overlapping matches starting in {@code [startIdx, boundary)}.
+     */
+    static int countOccurrences(Searcher searcher, String text, int startIdx, int boundary) {
+        int count = 0;
+        int idx = searcher.indexOf(text, startIdx, boundary);
+        while (idx != -1) {
+            count++;
+            idx = searcher.indexOf(text, idx + searcher.patternLength(), boundary);
+        }
+        return count;
+    }
+}
@@ -19,7 +19,7 @@ public class SerialCpuCounter implements WordCounter {
         long start = System.nanoTime();
         int occurrences = countOccurrences(normalizedText, normalizedTarget);
         long elapsed = System.nanoTime() - start;
-        return new WordCountResult(name(), datasetName, occurrences, elapsed / 1_000_000, 1, "CPU");
+        return new WordCountResult(name(), datasetName, occurrences, elapsed, 1, "CPU");
     }
 
     private int countOccurrences(String text, String target) {
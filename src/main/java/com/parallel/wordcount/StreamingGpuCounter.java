@@ -0,0 +1,206 @@
+package com.parallel.wordcount;
+
+import org.jocl.CL;
+import org.jocl.Pointer;
+import org.jocl.Sizeof;
+import org.jocl.cl_command_queue;
+import org.jocl.cl_context;
+import org.jocl.cl_context_properties;
+import org.jocl.cl_device_id;
+import org.jocl.cl_event;
+import org.jocl.cl_kernel;
+import org.jocl.cl_mem;
+import org.jocl.cl_program;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import static org.jocl.CL.*;
+
+/**
+ * OpenCL counter that streams the text through fixed-size device buffers instead of one buffer holding it all.
+ *
+ * <p>Chunk {@code k} owns the match starts in {@code [k * chunk, (k + 1) * chunk)} and is uploaded with
+ * {@code wordLen - 1} extra bytes, so words crossing a chunk boundary are counted exactly once. Chunks alternate
+ * between {@value #SLOTS} slots, each with its own in-order queue, device buffer, direct staging buffer and
+ * device-side counter: while the kernel of chunk {@code k} runs on one queue, chunk {@code k + 1} is copied to
+ * the other. The counters accumulate across chunks and are read once at the end. Text larger than
+ * {@code CL_DEVICE_MAX_MEM_ALLOC_SIZE} works because no buffer is ever larger than one chunk.
+ *
+ * <p>Uses the kernel of {@link ParallelGpuOptimizedCounter}, so overlapping matches are counted as well.
+ */
+public class StreamingGpuCounter implements WordCounter {
+
+    public static final int DEFAULT_CHUNK_BYTES = 32 * 1024 * 1024;
+    static final int SLOTS = 2;
+
+    private static final Map<String, StreamResources> CACHE = new ConcurrentHashMap<>();
+
+    private final int chunkBytes;
+
+    public StreamingGpuCounter() {
+        this(DEFAULT_CHUNK_BYTES);
+    }
+
+    public StreamingGpuCounter(int chunkBytes) {
+        this.chunkBytes = Math.max(ParallelGpuOptimizedCounter.LOCAL_SIZE, chunkBytes);
+    }
+
+    @Override
+    public String name() {
+        return "ParallelGPU-Stream";
+    }
+
+    @Override
+    public WordCountResult count(String datasetName, String text, String targetWord) {
+        if (targetWord.isBlank()) {
+            throw new IllegalArgumentException("Target word must not be blank");
+        }
+        long normalizeStart = System.nanoTime();
+        String normalizedText = text.toLowerCase(Locale.ROOT);
+        String normalizedTarget = targetWord.toLowerCase(Locale.ROOT);
+        byte[] textBytes = normalizedText.getBytes(StandardCharsets.UTF_8);
+        byte[] wordBytes = normalizedTarget.getBytes(StandardCharsets.UTF_8);
+        long normalizeNanos = System.nanoTime() - normalizeStart;
+
+        if (wordBytes.length == 0 || textBytes.length == 0) {
+            return new WordCountResult(name(), datasetName, 0, 0, null, "GPU");
+        }
+
+        CL.setExceptionsEnabled(true);
+        OpenClSupport.Device device = OpenClSupport.selectDevice();
+        StreamResources resources = CACHE.computeIfAbsent(device.name(), k -> buildResources(device));
+        long maxAlloc = OpenClSupport.maxAllocBytes(device.id());
+        int chunk = (int) Math.min(chunkBytes, maxAlloc - (wordBytes.length - 1));
+
+        long start = System.nanoTime();
+        StreamResult streamed = stream(resources, textBytes, wordBytes, chunk);
+        long elapsed = System.nanoTime() - start;
+        String details = "chunks=" + streamed.chunks() + " chunk_bytes=" + chunk + " slots=" + SLOTS;
+        return new WordCountResult(name(), datasetName, streamed.occurrences(), elapsed, null, device.label(), details,
+                streamed.phases().withNormalize(normalizeNanos));
+    }
+
+    private static StreamResult stream(StreamResources resources, byte[] textBytes, byte[] wordBytes, int chunk) {
+        int overlap = wordBytes.length - 1;
+        int slotBytes = (int) Math.min(textBytes.length, (long) chunk + overlap);
+        cl_context context = resources.context();
+
+        long buffersStart = System.nanoTime();
+        cl_mem wordMem = clCreateBuffer(context, CL_MEM_READ_ONLY | CL_MEM_COPY_HOST_PTR,
+                (long) Sizeof.cl_char * wordBytes.length, Pointer.to(wordBytes), null);
+        cl_mem[] textMems = new cl_mem[SLOTS];
+        cl_mem[] countMems = new cl_mem[SLOTS];
+        ByteBuffer[] staging = new ByteBuffer[SLOTS];
+        cl_event[] uploads = new cl_event[SLOTS];
+        for (int s = 0; s < SLOTS; s++) {
+            textMems[s] = clCreateBuffer(context, CL_MEM_READ_ONLY, slotBytes, null, null);
+            countMems[s] = clCreateBuffer(context, CL_MEM_READ_WRITE | CL_MEM_COPY_HOST_PTR,
+                    Sizeof.cl_int, Pointer.to(new int[]{0}), null);
+            staging[s] = ByteBuffer.allocateDirect(slotBytes);
+        }
+        long buffersNanos = System.nanoTime() - buffersStart;
+
+        int chunks = 0;
+        long uploadNanos = 0;
+        List<cl_event> kernelRuns = new ArrayList<>();
+        try {
+            for (long offset = 0; textBytes.length - offset >= wordBytes.length; offset += chunk, chunks++) {
+                int slot = chunks % SLOTS;
+                int length = (int) Math.min(textBytes.length - offset, (long) chunk + overlap);
+                cl_command_queue queue = resources.queues()[slot];
+                cl_kernel kernel = resources.kernels()[slot];
+
+                // The staging buffer of this slot may still be read by the upload issued two chunks ago.
+                if (uploads[slot] != null) {
+                    clWaitForEvents(1, new cl_event[]{uploads[slot]});
+                    uploadNanos += OpenClSupport.profiledNanos(uploads[slot]);
+                    uploads[slot] = null;
+                }
+                ByteBuffer host = staging[slot];
+                host.clear();
+                host.put(textBytes, (int) offset, length);
+                host.flip();
+                cl_event upload = new cl_event();
+                clEnqueueWriteBuffer(queue, textMems[slot], CL_FALSE, 0, length, Pointer.to(host), 0, null, upload);
+                uploads[slot] = upload;
+
+                clSetKernelArg(kernel, 0, Sizeof.cl_mem, Pointer.to(textMems[slot]));
+                clSetKernelArg(kernel, 1, Sizeof.cl_int, Pointer.to(new int[]{length}));
+                clSetKernelArg(kernel, 2, Sizeof.cl_mem, Pointer.to(wordMem));
+                clSetKernelArg(kernel, 3, Sizeof.cl_int, Pointer.to(new int[]{wordBytes.length}));
+                clSetKernelArg(kernel, 4, Sizeof.cl_mem, Pointer.to(countMems[slot]));
+                clSetKernelArg(kernel, 5, ParallelGpuOptimizedCounter.LOCAL_SIZE * Sizeof.cl_int, null);
+                long[] globalWorkSize = new long[]{
+                        ParallelGpuOptimizedCounter.roundUp(ParallelGpuOptimizedCounter.LOCAL_SIZE, length)};
+                long[] localWorkSize = new long[]{ParallelGpuOptimizedCounter.LOCAL_SIZE};
+                cl_event kernelRun = new cl_event();
+                clEnqueueNDRangeKernel(queue, kernel, 1, null, globalWorkSize, localWorkSize, 0, null, kernelRun);
+                kernelRuns.add(kernelRun);
+                clFlush(queue);
+            }
+
+            long occurrences = 0;
+            long readbackNanos = 0;
+            int[] partial = new int[1];
+            for (int s = 0; s < SLOTS; s++) {
+                cl_event readback = new cl_event();
+                clEnqueueReadBuffer(resources.queues()[s], countMems[s], CL_TRUE, 0, Sizeof.cl_int,
+                        Pointer.to(partial), 0, null, readback);
+                readbackNanos += OpenClSupport.profiledNanos(readback);
+                occurrences += partial[0];
+            }
+            for (int s = 0; s < SLOTS; s++) {
+                if (uploads[s] != null) {
+                    uploadNanos += OpenClSupport.profiledNanos(uploads[s]);
+                    uploads[s] = null;
+                }
+            }
+            long kernelNanos = 0;
+            while (!kernelRuns.isEmpty()) {
+                kernelNanos += OpenClSupport.profiledNanos(kernelRuns.remove(kernelRuns.size() - 1));
+            }
+            GpuPhases phases = new GpuPhases(0, buffersNanos, uploadNanos, kernelNanos, readbackNanos);
+            return new StreamResult(occurrences, chunks, phases);
+        } finally {
+            for (int s = 0; s < SLOTS; s++) {
+                clFinish(resources.queues()[s]);
+                if (uploads[s] != null) {
+                    clReleaseEvent(uploads[s]);
+                }
+                clReleaseMemObject(textMems[s]);
+                clReleaseMemObject(countMems[s]);
+            }
+            clReleaseMemObject(wordMem);
+            kernelRuns.forEach(CL::clReleaseEvent);
+        }
+    }
+
+    private static StreamResources buildResources(OpenClSupport.Device device) {
+        cl_context_properties contextProperties = new cl_context_properties();
+        contextProperties.addProperty(CL_CONTEXT_PLATFORM, device.platform());
+        cl_context context = clCreateContext(
+                contextProperties, 1, new cl_device_id[]{device.id()}, null, null, null);
+
+        cl_program program = ProgramBinaryCache.build(context, device, ParallelGpuOptimizedCounter.KERNEL_SOURCE);
+        cl_command_queue[] queues = new cl_command_queue[SLOTS];
+        cl_kernel[] kernels = new cl_kernel[SLOTS];
+        for (int s = 0; s < SLOTS; s++) {
+            queues[s] = OpenClSupport.createProfilingQueue(context, device.id());
+            kernels[s] = clCreateKernel(program, "countWordOpt", null);
+        }
+        return new StreamResources(context, program, queues, kernels);
+    }
+
+    private record StreamResources(cl_context context, cl_program program, cl_command_queue[] queues,
+                                   cl_kernel[] kernels) {
+    }
+
+    private record StreamResult(long occurrences, int chunks, GpuPhases phases) {
+    }
+}
@@ -1,9 +1,11 @@
 package com.parallel.wordcount;
 
 import java.io.IOException;
+import java.nio.channels.FileChannel;
 import java.nio.charset.StandardCharsets;
 import java.nio.file.Files;
 import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
 
 public final class TextLoader {
 
@@ -13,4 +15,24 @@ public final class TextLoader {
     public static String load(Path path) throws IOException {
         return Files.readString(path, StandardCharsets.UTF_8);
     }
+
+    /**
+     * Raw UTF-8 bytes, for engines that tokenize bytes directly instead of decoding to a {@link String}.
+     */
+    public static byte[] loadBytes(Path path) throws IOException {
+        return Files.readAllBytes(path);
+    }
+
+    /**
+     * Opens the file for windowed memory-mapped access without reading it into the heap.
+     */
+    public static MappedText map(Path path) throws IOException {
+        FileChannel channel = FileChannel.open(path, StandardOpenOption.READ);
+        try {
+            return new MappedText(channel);
+        } catch (IOException e) {
+            channel.close();
+            throw e;
+        }
+    }
 }
@@ -0,0 +1,352 @@
+package com.parallel.wordcount;
+
+import org.jocl.CL;
+import org.jocl.Pointer;
+import org.jocl.Sizeof;
+import org.jocl.cl_command_queue;
+import org.jocl.cl_context;
+import org.jocl.cl_context_properties;
+import org.jocl.cl_device_id;
+import org.jocl.cl_event;
+import org.jocl.cl_kernel;
+import org.jocl.cl_mem;
+import org.jocl.cl_program;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.SplittableRandom;
+import java.util.concurrent.ConcurrentHashMap;
+
+import static org.jocl.CL.*;
+
+/**
+ * OpenCL counters with autotuned launch geometry, in two variants of {@code countWordOpt}:
+ * <ul>
+ *     <li>{@link Variant#TILED}: each work-group copies its tile of the text, plus a halo of
+ *     {@code wordLen - 1} bytes, into {@code __local} memory with {@code uchar16} loads, and every work-item then
+ *     compares several positions against the tile instead of global memory.</li>
+ *     <li>{@link Variant#VECTOR}: every work-item loads blocks of 16 positions as one {@code uchar16}, skips
+ *     blocks without the first byte of the word and only verifies candidate positions byte by byte.</li>
+ * </ul>
+ * Both reduce per-item counts in local memory like {@code countWordOpt}. The work-group size and the items per
+ * work-item are chosen per device by {@link GpuKernelTuner} on a synthetic text the first time a variant runs, and
+ * persisted. Words whose tile would not fit local memory fall back to {@code countWordOpt}.
+ */
+public class TiledGpuCounter implements WordCounter {
+
+    private static final Map<String, CachedResources> CACHE = new ConcurrentHashMap<>();
+    private static final int[] LOCAL_SIZES = {64, 128, 256, 512};
+    private static final int TUNING_TEXT_BYTES = 4 * 1024 * 1024;
+    private static final byte[] TUNING_WORD = "paralelo".getBytes(StandardCharsets.UTF_8);
+
+    static final String KERNEL_SOURCE = """
+            __kernel void countWordTiled(__global const uchar* text,
+                                         const int textLen,
+                                         __global const uchar* word,
+                                         const int wordLen,
+                                         const int itemsPerThread,
+                                         __global int* globalCounter,
+                                         __local int* localCounts,
+                                         __local uchar* tile) {
+                int lid = get_local_id(0);
+                int groupSize = get_local_size(0);
+                int span = groupSize * itemsPerThread;
+                int groupStart = get_group_id(0) * span;
+                int tileLen = min(span + wordLen - 1, textLen - groupStart);
+
+                int vectors = tileLen / 16;
+                for (int v = lid; v < vectors; v += groupSize) {
+                    vstore16(vload16(v, text + groupStart), v, tile);
+                }
+                for (int i = vectors * 16 + lid; i < tileLen; i += groupSize) {
+                    tile[i] = text[groupStart + i];
+                }
+                barrier(CLK_LOCAL_MEM_FENCE);
+
+                int match = 0;
+                for (int k = 0; k < itemsPerThread; k++) {
+                    int pos = k * groupSize + lid;
+                    if (pos + wordLen <= tileLen) {
+                        int found = 1;
+                        for (int i = 0; i < wordLen; i++) {
+                            if (tile[pos + i] != word[i]) {
+                                found = 0;
+                                break;
+                            }
+                        }
+                        match += found;
+                    }
+                }
+                localCounts[lid] = match;
+                barrier(CLK_LOCAL_MEM_FENCE);
+
+                for (int stride = groupSize / 2; stride > 0; stride >>= 1) {
+                    if (lid < stride) {
+                        localCounts[lid] += localCounts[lid + stride];
+                    }
+                    barrier(CLK_LOCAL_MEM_FENCE);
+                }
+
+                if (lid == 0) {
+                    atomic_add(globalCounter, localCounts[0]);
+                }
+            }
+
+            __kernel void countWordVec16(__global const uchar* text,
+                                         const int textLen,
+                                         __global const uchar* word,
+                                         const int wordLen,
+                                         const int blocksPerThread,
+                                         __global int* globalCounter,
+                                         __local int* localCounts) {
+                int gid = get_global_id(0);
+                int lid = get_local_id(0);
+                int groupSize = get_local_size(0);
+                int globalSize = get_global_size(0);
+                int lastStart = textLen - wordLen;
+                int blocks = lastStart / 16 + 1;
+                uchar16 first = (uchar16)(word[0]);
+
+                int match = 0;
+                for (int b = 0; b < blocksPerThread; b++) {
+                    int block = b * globalSize + gid;
+                    if (block >= blocks) {
+                        break;
+                    }
+                    int base = block * 16;
+                    int limit = min(16, lastStart - base + 1);
+                    if (limit == 16 && !any(vload16(block, text) == first)) {
+                        continue;
+                    }
+                    for (int j = 0; j < limit; j++) {
+                        int found = 1;
+                        for (int i = 0; i < wordLen; i++) {
+                            if (text[base + j + i] != word[i]) {
+                                found = 0;
+                                break;
+                            }
+                        }
+                        match += found;
+                    }
+                }
+                localCounts[lid] = match;
+                barrier(CLK_LOCAL_MEM_FENCE);
+
+                for (int stride = groupSize / 2; stride > 0; stride >>= 1) {
+                    if (lid < stride) {
+                        localCounts[lid] += localCounts[lid + stride];
+                    }
+                    barrier(CLK_LOCAL_MEM_FENCE);
+                }
+
+                if (lid == 0) {
+                    atomic_add(globalCounter, localCounts[0]);
+                }
+            }
+            """;
+
+    public enum Variant {
+        TILED("ParallelGPU-Tiled", "countWordTiled", new int[]{1, 2, 4, 8, 16}),
+        VECTOR("ParallelGPU-Vec16", "countWordVec16", new int[]{1, 2, 4, 8});
+
+        private final String counterName;
+        private final String kernelName;
+        private final int[] itemCandidates;
+
+        Variant(String counterName, String kernelName, int[] itemCandidates) {
+            this.counterName = counterName;
+            this.kernelName = kernelName;
+            this.itemCandidates = itemCandidates;
+        }
+    }
+
+    private final Variant variant;
+
+    public TiledGpuCounter(Variant variant) {
+        this.variant = variant;
+    }
+
+    @Override
+    public String name() {
+        return variant.counterName;
+    }
+
+    @Override
+    public WordCountResult count(String datasetName, String text, String targetWord) {
+        if (targetWord.isBlank()) {
+            throw new IllegalArgumentException("Target word must not be blank");
+        }
+        long normalizeStart = System.nanoTime();
+        String normalizedText = text.toLowerCase(Locale.ROOT);
+        String normalizedTarget = targetWord.toLowerCase(Locale.ROOT);
+        byte[] textBytes = normalizedText.getBytes(StandardCharsets.UTF_8);
+        byte[] wordBytes = normalizedTarget.getBytes(StandardCharsets.UTF_8);
+        long normalizeNanos = System.nanoTime() - normalizeStart;
+
+        if (wordBytes.length == 0 || textBytes.length < wordBytes.length) {
+            return new WordCountResult(name(), datasetName, 0, 0, null, "GPU");
+        }
+
+        CL.setExceptionsEnabled(true);
+        OpenClSupport.Device device = OpenClSupport.selectDevice();
+        CachedResources resources = CACHE.computeIfAbsent(device.name(), k -> buildResources(device));
+        GpuKernelTuner.Tuned tuned = resources.tuned().computeIfAbsent(variant, v -> tune(resources, device, v));
+        GpuKernelTuner.Config config = tuned.config();
+
+        long start = System.nanoTime();
+        OpenClSupport.KernelRun run;
+        String details;
+        if (fits(resources, variant, config, wordBytes.length)) {
+            run = runKernel(resources, variant, config, textBytes, wordBytes);
+            details = tuned.describe();
+        } else {
+            run = ParallelGpuOptimizedCounter.runKernel(device, textBytes, textBytes.length, wordBytes);
+            details = "fallback=countWordOpt (tile exceeds local memory) " + tuned.describe();
+        }
+        long elapsed = System.nanoTime() - start;
+        return new WordCountResult(name(), datasetName, run.occurrences(), elapsed, null, device.label(), details,
+                run.phases().withNormalize(normalizeNanos));
+    }
+
+    private static OpenClSupport.KernelRun runKernel(CachedResources resources, Variant variant,
+                                                     GpuKernelTuner.Config config, byte[] textBytes, byte[] wordBytes) {
+        long buffersStart = System.nanoTime();
+        cl_mem textMem = clCreateBuffer(resources.context(), CL_MEM_READ_ONLY,
+                (long) Sizeof.cl_char * textBytes.length, null, null);
+        cl_mem wordMem = clCreateBuffer(resources.context(), CL_MEM_READ_ONLY | CL_MEM_COPY_HOST_PTR,
+                (long) Sizeof.cl_char * wordBytes.length, Pointer.to(wordBytes), null);
+        cl_mem countMem = clCreateBuffer(resources.context(), CL_MEM_READ_WRITE | CL_MEM_COPY_HOST_PTR,
+                Sizeof.cl_int, Pointer.to(new int[]{0}), null);
+        long buffersNanos = System.nanoTime() - buffersStart;
+
+        cl_event upload = new cl_event();
+        clEnqueueWriteBuffer(resources.queue(), textMem, CL_TRUE, 0, (long) Sizeof.cl_char * textBytes.length,
+                Pointer.to(textBytes), 0, null, upload);
+        cl_event kernelRun = launch(resources, variant, config, textMem, textBytes.length, wordMem, wordBytes.length, countMem);
+        clFinish(resources.queue());
+
+        int[] result = new int[1];
+        cl_event readback = new cl_event();
+        clEnqueueReadBuffer(resources.queue(), countMem, CL_TRUE, 0, Sizeof.cl_int, Pointer.to(result), 0, null, readback);
+
+        clReleaseMemObject(textMem);
+        clReleaseMemObject(wordMem);
+        clReleaseMemObject(countMem);
+        GpuPhases phases = new GpuPhases(0, buffersNanos, OpenClSupport.profiledNanos(upload),
+                OpenClSupport.profiledNanos(kernelRun), OpenClSupport.profiledNanos(readback));
+        return new OpenClSupport.KernelRun(result[0], phases);
+    }
+
+    /**
+     * Enqueues one launch of {@code variant}; the caller owns the returned event.
+     */
+    private static cl_event launch(CachedResources resources, Variant variant, GpuKernelTuner.Config config,
+                                   cl_mem textMem, int textLen, cl_mem wordMem, int wordLen, cl_mem countMem) {
+        cl_kernel kernel = resources.kernels().get(variant);
+        int local = config.localSize();
+        int items = config.itemsPerThread();
+        clSetKernelArg(kernel, 0, Sizeof.cl_mem, Pointer.to(textMem));
+        clSetKernelArg(kernel, 1, Sizeof.cl_int, Pointer.to(new int[]{textLen}));
+        clSetKernelArg(kernel, 2, Sizeof.cl_mem, Pointer.to(wordMem));
+        clSetKernelArg(kernel, 3, Sizeof.cl_int, Pointer.to(new int[]{wordLen}));
+        clSetKernelArg(kernel, 4, Sizeof.cl_int, Pointer.to(new int[]{items}));
+        clSetKernelArg(kernel, 5, Sizeof.cl_mem, Pointer.to(countMem));
+        clSetKernelArg(kernel, 6, (long) local * Sizeof.cl_int, null);
+        long globalSize;
+        if (variant == Variant.TILED) {
+            clSetKernelArg(kernel, 7, tileBytes(config, wordLen), null);
+            long span = (long) local * items;
+            globalSize = (textLen + span - 1) / span * local;
+        } else {
+            long blocks = (textLen - wordLen) / 16 + 1;
+            globalSize = ParallelGpuOptimizedCounter.roundUp(local, (blocks + items - 1) / items);
+        }
+        cl_event event = new cl_event();
+        clEnqueueNDRangeKernel(resources.queue(), kernel, 1, null, new long[]{globalSize}, new long[]{local},
+                0, null, event);
+        return event;
+    }
+
+    private static long tileBytes(GpuKernelTuner.Config config, int wordLen) {
+        return (long) config.localSize() * config.itemsPerThread() + wordLen - 1;
+    }
+
+    private static boolean fits(CachedResources resources, Variant variant, GpuKernelTuner.Config config, int wordLen) {
+        long local = (long) config.localSize() * Sizeof.cl_int;
+        if (variant == Variant.TILED) {
+            local += tileBytes(config, wordLen);
+        }
+        return local <= resources.localMemBytes();
+    }
+
+    /**
+     * Times every fitting (local size, items) pair of {@code variant} on a synthetic text, or reuses the saved pick.
+     */
+    private static GpuKernelTuner.Tuned tune(CachedResources resources, OpenClSupport.Device device, Variant variant) {
+        long[] maxGroup = new long[1];
+        clGetKernelWorkGroupInfo(resources.kernels().get(variant), device.id(), CL_KERNEL_WORK_GROUP_SIZE,
+                Sizeof.size_t, Pointer.to(maxGroup), null);
+        List<GpuKernelTuner.Config> candidates = new ArrayList<>();
+        for (int local : LOCAL_SIZES) {
+            for (int items : variant.itemCandidates) {
+                GpuKernelTuner.Config config = new GpuKernelTuner.Config(local, items);
+                if (local <= maxGroup[0] && fits(resources, variant, config, TUNING_WORD.length)) {
+                    candidates.add(config);
+                }
+            }
+        }
+        if (candidates.isEmpty()) {
+            candidates.add(new GpuKernelTuner.Config(Integer.highestOneBit((int) Math.max(1, maxGroup[0])), 1));
+        }
+
+        int length = (int) Math.min(TUNING_TEXT_BYTES, OpenClSupport.maxAllocBytes(device.id()) / 2);
+        byte[] text = new byte[length];
+        SplittableRandom random = new SplittableRandom(length);
+        for (int i = 0; i < length; i++) {
+            text[i] = (byte) ('a' + random.nextInt(26));
+        }
+        cl_mem textMem = clCreateBuffer(resources.context(), CL_MEM_READ_ONLY | CL_MEM_COPY_HOST_PTR,
+                length, Pointer.to(text), null);
+        cl_mem wordMem = clCreateBuffer(resources.context(), CL_MEM_READ_ONLY | CL_MEM_COPY_HOST_PTR,
+                TUNING_WORD.length, Pointer.to(TUNING_WORD), null);
+        cl_mem countMem = clCreateBuffer(resources.context(), CL_MEM_READ_WRITE, Sizeof.cl_int, null, null);
+        try {
+            String key = ProgramBinaryCache.programKey(device.id(), KERNEL_SOURCE) + "." + variant.kernelName;
+            return GpuKernelTuner.tune(key, candidates, config -> {
+                cl_event event = launch(resources, variant, config, textMem, length, wordMem, TUNING_WORD.length, countMem);
+                clFinish(resources.queue());
+                return OpenClSupport.profiledNanos(event);
+            });
+        } finally {
+            clReleaseMemObject(textMem);
+            clReleaseMemObject(wordMem);
+            clReleaseMemObject(countMem);
+        }
+    }
+
+    private static CachedResources buildResources(OpenClSupport.Device device) {
+        cl_context_properties contextProperties = new cl_context_properties();
+        contextProperties.addProperty(CL_CONTEXT_PLATFORM, device.platform());
+        cl_context context = clCreateContext(
+                contextProperties, 1, new cl_device_id[]{device.id()}, null, null, null);
+
+        cl_command_queue queue = OpenClSupport.createProfilingQueue(context, device.id());
+
+        cl_program program = ProgramBinaryCache.build(context, device, KERNEL_SOURCE);
+        Map<Variant, cl_kernel> kernels = new EnumMap<>(Variant.class);
+        for (Variant variant : Variant.values()) {
+            kernels.put(variant, clCreateKernel(program, variant.kernelName, null));
+        }
+        return new CachedResources(context, queue, program, kernels, OpenClSupport.localMemBytes(device.id()),
+                new ConcurrentHashMap<>());
+    }
+
+    private record CachedResources(cl_context context, cl_command_queue queue, cl_program program,
+                                   Map<Variant, cl_kernel> kernels, long localMemBytes,
+                                   Map<Variant, GpuKernelTuner.Tuned> tuned) {
+    }
+}
@@ -0,0 +1,113 @@
+package com.parallel.wordcount;
+
+import java.util.Arrays;
+
+/**
+ * Crochemore-Perrin Two-Way search: linear worst case with constant extra space. The pattern is split at
+ * its critical factorization; the right half is matched left to right, then the left half right to left.
+ * Like glibc's long-needle variant, each window is first screened with a Horspool bad-character shift,
+ * which gives the sublinear behaviour on natural-language text.
+ */
+final class TwoWaySearcher implements Searcher {
+
+    private final char[] pattern;
+    private final int[] shift = new int[256];
+    private final int ell;
+    private final int period;
+    private final boolean periodic;
+
+    TwoWaySearcher(String pattern) {
+        this.pattern = pattern.toCharArray();
+        int[] forward = maximalSuffix(this.pattern, false);
+        int[] reverse = maximalSuffix(this.pattern, true);
+        int[] critical = forward[0] > reverse[0] ? forward : reverse;
+        int m = this.pattern.length;
+        this.ell = critical[0];
+        boolean isPeriodic = ell + 1 + critical[1] <= m;
+        for (int i = 0; isPeriodic && i <= ell; i++) {
+            isPeriodic = this.pattern[i] == this.pattern[i + critical[1]];
+        }
+        this.periodic = isPeriodic;
+        this.period = periodic ? critical[1] : Math.max(ell + 1, m - ell - 1) + 1;
+        Arrays.fill(shift, m);
+        for (int i = 0; i < m; i++) {
+            shift[this.pattern[i] & 0xFF] = m - 1 - i;
+        }
+    }
+
+    /**
+     * Returns {start - 1, period} of the maximal suffix for the natural ({@code reversed == false})
+     * or the reversed alphabet order.
+     */
+    private static int[] maximalSuffix(char[] x, boolean reversed) {
+        int ms = -1;
+        int j = 0;
+        int k = 1;
+        int p = 1;
+        while (j + k < x.length) {
+            char a = x[j + k];
+            char b = x[ms + k];
+            if (reversed ? a > b : a < b) {
+                j += k;
+                k = 1;
+                p = j - ms;
+            } else if (a == b) {
+                if (k != p) {
+                    k++;
+                } else {
+                    j += p;
+                    k = 1;
+                }
+            } else {
+                ms = j;
+                j = ms + 1;
+                k = 1;
+                p = 1;
+            }
+        }
+        return new int[]{ms, p};
+    }
+
+    @Override
+    public int patternLength() {
+        return pattern.length;
+    }
+
+    @Override
+    public int indexOf(String text, int from, int limit) {
+        int m = pattern.length;
+        int last = Math.min(limit, text.length() - m + 1);
+        int j = from;
+        int memory = -1;
+        while (j < last) {
+            int skip = shift[text.charAt(j + m - 1) & 0xFF];
+            if (skip > 0) {
+                j += skip;
+                memory = -1;
+                continue;
+            }
+            int i = Math.max(ell, memory) + 1;
+            while (i < m && pattern[i] == text.charAt(i + j)) {
+                i++;
+            }
+            if (i < m) {
+                j += i - ell;
+                memory = -1;
+                continue;
+            }
+            int lowerBound = periodic ? memory : -1;
+            i = ell;
+            while (i > lowerBound && pattern[i] == text.charAt(i + j)) {
+                i--;
+            }
+            if (i <= lowerBound) {
+                return j;
+            }
+            j += period;
+            if (periodic) {
+                memory = m - period - 1;
+            }
+        }
+        return -1;
+    }
+}
@@ -0,0 +1,75 @@
+package com.parallel.wordcount;
+
+import jdk.incubator.vector.ByteVector;
+import jdk.incubator.vector.VectorMask;
+import jdk.incubator.vector.VectorOperators;
+import jdk.incubator.vector.VectorSpecies;
+
+/**
+ * SIMD candidate filter built on {@code jdk.incubator.vector}. Every lane compares the first and the
+ * last byte of the target (both ASCII cases) at once; only positions where both agree are verified
+ * byte by byte. Only reached through {@link VectorizedCpuCounter} after the module check, so the
+ * incubator classes are never loaded when the JVM runs without {@code --add-modules jdk.incubator.vector}.
+ */
+final class VectorScan {
+
+    static final VectorSpecies<Byte> SPECIES = ByteVector.SPECIES_PREFERRED;
+
+    private VectorScan() {
+    }
+
+    /**
+     * Same contract as {@link CaseFolding#countFolded(byte[], byte[], int, int)}: non-overlapping matches of the
+     * lowercased {@code target} that start in {@code [startIdx, boundary)}.
+     */
+    static int countFolded(byte[] text, byte[] target, int startIdx, int boundary) {
+        int wordLen = target.length;
+        int until = Math.min(boundary, text.length - wordLen + 1);
+        int lanes = SPECIES.length();
+        byte firstLower = target[0];
+        byte firstUpper = upper(firstLower);
+        byte lastLower = target[wordLen - 1];
+        byte lastUpper = upper(lastLower);
+
+        int count = 0;
+        int nextAllowed = startIdx;
+        int i = startIdx;
+        for (; i + lanes <= until; i += lanes) {
+            ByteVector firstBlock = ByteVector.fromArray(SPECIES, text, i);
+            ByteVector lastBlock = ByteVector.fromArray(SPECIES, text, i + wordLen - 1);
+            VectorMask<Byte> candidates = firstBlock.compare(VectorOperators.EQ, firstLower)
+                    .or(firstBlock.compare(VectorOperators.EQ, firstUpper))
+                    .and(lastBlock.compare(VectorOperators.EQ, lastLower)
+                            .or(lastBlock.compare(VectorOperators.EQ, lastUpper)));
+            long bits = candidates.toLong();
+            while (bits != 0) {
+                int pos = i + Long.numberOfTrailingZeros(bits);
+                bits &= bits - 1;
+                if (pos >= nextAllowed && matchesAt(text, pos, target)) {
+                    count++;
+                    nextAllowed = pos + wordLen;
+                }
+            }
+        }
+        for (int pos = Math.max(i, nextAllowed); pos < until; pos++) {
+            if (matchesAt(text, pos, target)) {
+                count++;
+                pos += wordLen - 1;
+            }
+        }
+        return count;
+    }
+
+    private static boolean matchesAt(byte[] text, int offset, byte[] target) {
+        for (int j = 0; j < target.length; j++) {
+            if (CaseFolding.foldAscii(text[offset + j]) != target[j]) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static byte upper(byte b) {
+        return b >= 'a' && b <= 'z' ? (byte) (b - ('a' - 'A')) : b;
+    }
+}
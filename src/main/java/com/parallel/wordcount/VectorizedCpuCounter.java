@@ -0,0 +1,52 @@
+package com.parallel.wordcount;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Locale;
+
+/**
+ * Single-core SIMD counting with the Java Vector API. Compares the first and last byte of the target
+ * across a full vector register (32 bytes on AVX2, 64 on AVX-512) and verifies only the candidates.
+ *
+ * <p>Requires the JVM to be started with {@code --add-modules jdk.incubator.vector}; check
+ * {@link #isSupported()} before running it.
+ */
+public class VectorizedCpuCounter implements WordCounter {
+
+    public static boolean isSupported() {
+        return ModuleLayer.boot().findModule("jdk.incubator.vector").isPresent();
+    }
+
+    @Override
+    public String name() {
+        return "VectorCPU";
+    }
+
+    @Override
+    public WordCountResult count(String datasetName, String text, String targetWord) {
+        if (targetWord.isBlank()) {
+            throw new IllegalArgumentException("Target word must not be blank");
+        }
+        if (!isSupported()) {
+            throw new IllegalStateException("Vector API indisponivel: execute a JVM com --add-modules jdk.incubator.vector");
+        }
+        long start = System.nanoTime();
+        byte[][] prepared = prepare(text, targetWord);
+        int occurrences = VectorScan.countFolded(prepared[0], prepared[1], 0, prepared[0].length);
+        long elapsed = System.nanoTime() - start;
+        return new WordCountResult(name(), datasetName, occurrences, elapsed,
+                1, "CPU (" + VectorScan.SPECIES.vectorBitSize() + "-bit)");
+    }
+
+    /**
+     * Encodes text and target as UTF-8 for the byte lanes. ASCII targets are folded during the scan;
+     * non-ASCII targets lowercase the text first, as {@link FoldingSerialCpuCounter} does.
+     */
+    static byte[][] prepare(String text, String targetWord) {
+        String normalizedTarget = targetWord.toLowerCase(Locale.ROOT);
+        String scanned = CaseFolding.isAscii(normalizedTarget) ? text : text.toLowerCase(Locale.ROOT);
+        return new byte[][]{
+                scanned.getBytes(StandardCharsets.UTF_8),
+                normalizedTarget.getBytes(StandardCharsets.UTF_8)
+        };
+    }
+}
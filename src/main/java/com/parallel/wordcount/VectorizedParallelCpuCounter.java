@@ -0,0 +1,57 @@
+package com.parallel.wordcount;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+/**
+ * Multi-threaded version of {@link VectorizedCpuCounter}: the byte text is split with
+ * {@link ParallelCpuCounter#chunkBounds(int, int)} and each chunk runs the SIMD scan.
+ */
+public class VectorizedParallelCpuCounter implements WordCounter {
+
+    private final int threadCount;
+
+    public VectorizedParallelCpuCounter(int threadCount) {
+        this.threadCount = Math.max(1, threadCount);
+    }
+
+    @Override
+    public String name() {
+        return "VectorParallelCPU";
+    }
+
+    @Override
+    public WordCountResult count(String datasetName, String text, String targetWord) throws ExecutionException, InterruptedException {
+        if (targetWord.isBlank()) {
+            throw new IllegalArgumentException("Target word must not be blank");
+        }
+        if (!VectorizedCpuCounter.isSupported()) {
+            throw new IllegalStateException("Vector API indisponivel: execute a JVM com --add-modules jdk.incubator.vector");
+        }
+        ExecutorService executor = Executors.newFixedThreadPool(threadCount);
+        long start = System.nanoTime();
+        byte[][] prepared = VectorizedCpuCounter.prepare(text, targetWord);
+        byte[] textBytes = prepared[0];
+        byte[] wordBytes = prepared[1];
+
+        List<Future<Integer>> futures = new ArrayList<>();
+        int[] bounds = ParallelCpuCounter.chunkBounds(textBytes.length, threadCount);
+        for (int i = 0; i + 1 < bounds.length; i++) {
+            int startIdx = bounds[i];
+            int boundary = bounds[i + 1];
+            futures.add(executor.submit(() -> VectorScan.countFolded(textBytes, wordBytes, startIdx, boundary)));
+        }
+
+        int occurrences = 0;
+        for (Future<Integer> future : futures) {
+            occurrences += future.get();
+        }
+        executor.shutdown();
+        long elapsed = System.nanoTime() - start;
+        return new WordCountResult(name(), datasetName, occurrences, elapsed, threadCount, "CPU");
+    }
+}
@@ -2,12 +2,35 @@ package com.parallel.wordcount;
 
 /**
  * Aggregated information about a single execution of a counting method.
+ *
+ * <p>{@code durationNanos} is the raw {@link System#nanoTime()} difference of the timed region; {@code details}
+ * carries strategy-specific diagnostics (e.g. work-stealing statistics) and may be null. {@code phases} is only
+ * set by the OpenCL counters.
  */
 public record WordCountResult(
         String method,
         String dataset,
-        int occurrences,
-        long durationMillis,
+        long occurrences,
+        long durationNanos,
         Integer threads,
-        String deviceType) {
+        String deviceType,
+        String details,
+        GpuPhases phases) {
+
+    public WordCountResult(String method, String dataset, long occurrences, long durationNanos,
+                           Integer threads, String deviceType) {
+        this(method, dataset, occurrences, durationNanos, threads, deviceType, null, null);
+    }
+
+    public WordCountResult(String method, String dataset, long occurrences, long durationNanos,
+                           Integer threads, String deviceType, String details) {
+        this(method, dataset, occurrences, durationNanos, threads, deviceType, details, null);
+    }
+
+    /**
+     * Duration truncated to whole milliseconds, as reported before nanosecond samples were kept.
+     */
+    public long durationMillis() {
+        return durationNanos / 1_000_000;
+    }
 }
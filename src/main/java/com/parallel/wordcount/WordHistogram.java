@@ -0,0 +1,110 @@
+package com.parallel.wordcount;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Frequency of every token in a dataset, stored as hash-partitioned {@link ByteSliceCounter} tables.
+ * Entries are ranked once at construction, so {@link #top(int)} is a prefix read and never rescans the text.
+ */
+public final class WordHistogram {
+
+    public record Entry(String word, long count) {
+    }
+
+    private final ByteSliceCounter[] partitions;
+    private final int[] partitionStart;
+    private final int[] ranking;
+    private final long totalTokens;
+
+    WordHistogram(ByteSliceCounter[] partitions) {
+        this.partitions = partitions;
+        this.partitionStart = new int[partitions.length + 1];
+        long total = 0;
+        for (int p = 0; p < partitions.length; p++) {
+            partitionStart[p + 1] = partitionStart[p] + partitions[p].size();
+            for (int e = 0; e < partitions[p].size(); e++) {
+                total += partitions[p].countAt(e);
+            }
+        }
+        this.totalTokens = total;
+        this.ranking = rank();
+    }
+
+    public long totalTokens() {
+        return totalTokens;
+    }
+
+    public int distinctTokens() {
+        return ranking.length;
+    }
+
+    /**
+     * Count of a single token; ASCII letters are matched case-insensitively.
+     */
+    public long count(String word) {
+        byte[] key = word.getBytes(StandardCharsets.UTF_8);
+        for (int i = 0; i < key.length; i++) {
+            key[i] = CaseFolding.foldAscii(key[i]);
+        }
+        int hash = ByteSliceCounter.hash(key, 0, key.length);
+        return partitions[Math.floorMod(hash, partitions.length)].get(key, hash);
+    }
+
+    /**
+     * The {@code n} most frequent tokens, highest count first (ties keep first-seen order within a partition).
+     */
+    public List<Entry> top(int n) {
+        int limit = Math.min(Math.max(0, n), ranking.length);
+        List<Entry> entries = new ArrayList<>(limit);
+        for (int i = 0; i < limit; i++) {
+            entries.add(entryAt(ranking[i]));
+        }
+        return entries;
+    }
+
+    private Entry entryAt(int globalIndex) {
+        int p = partitionOf(globalIndex);
+        ByteSliceCounter table = partitions[p];
+        int entry = globalIndex - partitionStart[p];
+        String word = new String(table.arena(), table.offsetAt(entry), table.lengthAt(entry), StandardCharsets.UTF_8);
+        return new Entry(word, table.countAt(entry));
+    }
+
+    private int partitionOf(int globalIndex) {
+        int idx = Arrays.binarySearch(partitionStart, globalIndex);
+        if (idx >= 0) {
+            // Skip empty partitions that share the same start offset.
+            while (idx + 1 < partitionStart.length && partitionStart[idx + 1] == globalIndex) {
+                idx++;
+            }
+            return idx;
+        }
+        return -idx - 2;
+    }
+
+    /**
+     * Sorts by count descending with a primitive sort: the high word holds the inverted count and
+     * the low word the global entry index. Counts fit in an int because a dataset is a single byte[].
+     */
+    private int[] rank() {
+        int distinct = partitionStart[partitions.length];
+        long[] keys = new long[distinct];
+        int k = 0;
+        for (ByteSliceCounter table : partitions) {
+            for (int e = 0; e < table.size(); e++) {
+                long inverted = Integer.MAX_VALUE - Math.min(Integer.MAX_VALUE, table.countAt(e));
+                keys[k] = (inverted << 32) | k;
+                k++;
+            }
+        }
+        Arrays.sort(keys);
+        int[] order = new int[distinct];
+        for (int i = 0; i < distinct; i++) {
+            order[i] = (int) keys[i];
+        }
+        return order;
+    }
+}
@@ -0,0 +1,138 @@
+package com.parallel.wordcount;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+/**
+ * Builds a {@link WordHistogram} of every token in a UTF-8 dataset.
+ *
+ * <p>A token is a maximal run of ASCII letters, digits and non-ASCII bytes (so accented words stay whole);
+ * ASCII letters are folded to lowercase. Phase one tokenizes chunks in parallel, each worker counting into
+ * its own {@link ByteSliceCounter}. Phase two merges in parallel by hash partition: worker {@code p} pulls
+ * every key with {@code hash mod P == p} from all local tables, so partitions never share a key and no
+ * locking is needed.
+ */
+public class WordHistogramEngine {
+
+    private final int threadCount;
+
+    public WordHistogramEngine(int threadCount) {
+        this.threadCount = Math.max(1, threadCount);
+    }
+
+    public String name() {
+        return threadCount == 1 ? "HistogramCPU" : "HistogramParallelCPU";
+    }
+
+    public WordHistogram build(Path path) throws IOException, ExecutionException, InterruptedException {
+        return build(TextLoader.loadBytes(path));
+    }
+
+    public WordHistogram build(byte[] text) throws ExecutionException, InterruptedException {
+        if (threadCount == 1) {
+            ByteSliceCounter local = tokenize(text, 0, text.length);
+            return new WordHistogram(new ByteSliceCounter[]{local});
+        }
+        ExecutorService executor = Executors.newFixedThreadPool(threadCount);
+        try {
+            int[] bounds = tokenBounds(text, threadCount);
+            List<Future<ByteSliceCounter>> tokenizing = new ArrayList<>();
+            for (int i = 0; i + 1 < bounds.length; i++) {
+                int from = bounds[i];
+                int to = bounds[i + 1];
+                tokenizing.add(executor.submit(() -> tokenize(text, from, to)));
+            }
+            List<ByteSliceCounter> locals = new ArrayList<>();
+            for (Future<ByteSliceCounter> future : tokenizing) {
+                locals.add(future.get());
+            }
+
+            int partitions = threadCount;
+            List<Future<ByteSliceCounter>> merging = new ArrayList<>();
+            for (int p = 0; p < partitions; p++) {
+                int partition = p;
+                merging.add(executor.submit(() -> mergePartition(locals, partition, partitions)));
+            }
+            ByteSliceCounter[] merged = new ByteSliceCounter[partitions];
+            for (int p = 0; p < partitions; p++) {
+                merged[p] = merging.get(p).get();
+            }
+            return new WordHistogram(merged);
+        } finally {
+            executor.shutdown();
+        }
+    }
+
+    /**
+     * Timed build wrapped as a {@link WordCountResult}: occurrences is the number of tokens.
+     */
+    public WordCountResult measure(String datasetName, byte[] text) throws ExecutionException, InterruptedException {
+        long start = System.nanoTime();
+        WordHistogram histogram = build(text);
+        long elapsed = System.nanoTime() - start;
+        return new WordCountResult(name(), datasetName, histogram.totalTokens(), elapsed,
+                threadCount, "CPU", "distinct=" + histogram.distinctTokens());
+    }
+
+    static boolean isTokenByte(byte b) {
+        int folded = b | 0x20;
+        return (folded >= 'a' && folded <= 'z') || (b >= '0' && b <= '9') || b < 0;
+    }
+
+    private static ByteSliceCounter tokenize(byte[] text, int from, int to) {
+        ByteSliceCounter counts = new ByteSliceCounter(1024);
+        int i = from;
+        while (i < to) {
+            while (i < to && !isTokenByte(text[i])) {
+                i++;
+            }
+            int start = i;
+            while (i < to && isTokenByte(text[i])) {
+                i++;
+            }
+            if (i > start) {
+                counts.add(text, start, i - start, ByteSliceCounter.hash(text, start, i - start), 1, false);
+            }
+        }
+        return counts;
+    }
+
+    private static ByteSliceCounter mergePartition(List<ByteSliceCounter> locals, int partition, int partitions) {
+        int expected = 0;
+        for (ByteSliceCounter local : locals) {
+            expected = Math.max(expected, local.size() / partitions);
+        }
+        ByteSliceCounter merged = new ByteSliceCounter(expected);
+        for (ByteSliceCounter local : locals) {
+            for (int e = 0; e < local.size(); e++) {
+                int hash = local.hashAt(e);
+                if (Math.floorMod(hash, partitions) == partition) {
+                    merged.add(local.arena(), local.offsetAt(e), local.lengthAt(e), hash, local.countAt(e), true);
+                }
+            }
+        }
+        return merged;
+    }
+
+    /**
+     * Chunk bounds from {@link ParallelCpuCounter#chunkBounds(int, int)}, each moved forward past the
+     * token it lands in so no token is split between two workers.
+     */
+    static int[] tokenBounds(byte[] text, int chunks) {
+        int[] bounds = ParallelCpuCounter.chunkBounds(text.length, chunks);
+        for (int i = 1; i + 1 < bounds.length; i++) {
+            int b = Math.max(bounds[i], bounds[i - 1]);
+            while (b < text.length && isTokenByte(text[b]) && b > 0 && isTokenByte(text[b - 1])) {
+                b++;
+            }
+            bounds[i] = b;
+        }
+        return bounds;
+    }
+}
@@ -41,7 +41,7 @@ public class PerformanceChartPanel extends JPanel {
     public void registerResult(WordCountResult result) {
         String key = labelFor(result);
         GrowingStats s = stats.computeIfAbsent(key, k -> new GrowingStats());
-        s.add(result.durationMillis());
+        s.add(result.durationNanos() / 1_000_000.0);
         displayed.putIfAbsent(key, 0.0);
         updatePreferredWidth();
         if (!animator.isRunning()) {
@@ -188,10 +188,10 @@ public class PerformanceChartPanel extends JPanel {
     }
 
     private static class GrowingStats {
-        private long sum;
+        private double sum;
         private long count;
 
-        void add(long value) {
+        void add(double value) {
             sum += value;
             count++;
         }
@@ -200,7 +200,7 @@ public class PerformanceChartPanel extends JPanel {
             if (count == 0) {
                 return 0;
             }
-            return (double) sum / count;
+            return sum / count;
         }
     }
 }
@@ -6,6 +6,7 @@ import javax.swing.table.AbstractTableModel;
 import java.util.ArrayDeque;
 import java.util.Deque;
 import java.util.Iterator;
+import java.util.Locale;
 
 /**
  * Tabela de resultados recentes (buffer limitado).
@@ -21,7 +22,9 @@ public class ResultTableModel extends AbstractTableModel {
             "Threads",
             "Device",
             "Tempo (ms)",
-            "Ocorrencias"
+            "Ocorrencias",
+            "Fases GPU (ms)",
+            "Detalhes"
     };
 
     private final Deque<Row> rows = new ArrayDeque<>();
@@ -70,8 +73,10 @@ public class ResultTableModel extends AbstractTableModel {
             case 2 -> r.method();
             case 3 -> r.threads() != null ? r.threads() : "";
             case 4 -> r.deviceType() != null ? r.deviceType() : "";
-            case 5 -> r.durationMillis();
+            case 5 -> String.format(Locale.ROOT, "%.3f", r.durationNanos() / 1_000_000.0);
             case 6 -> r.occurrences();
+            case 7 -> r.phases() != null ? r.phases().describe() : "";
+            case 8 -> r.details() != null ? r.details() : "";
             default -> "";
         };
     }
@@ -1,17 +1,39 @@
 package com.parallel.wordcount.ui;
 
+import com.parallel.wordcount.AutoCounter;
+import com.parallel.wordcount.CachedCountService;
+import com.parallel.wordcount.CorpusCountResult;
+import com.parallel.wordcount.CorpusCounter;
+import com.parallel.wordcount.CountCache;
+import com.parallel.wordcount.CpuPoolRegistry;
+import com.parallel.wordcount.FoldingParallelCpuCounter;
+import com.parallel.wordcount.FoldingSerialCpuCounter;
+import com.parallel.wordcount.ForkJoinCpuCounter;
+import com.parallel.wordcount.HybridCpuGpuCounter;
+import com.parallel.wordcount.MultiDeviceGpuCounter;
 import com.parallel.wordcount.ParallelCpuCounter;
 import com.parallel.wordcount.ParallelGpuCounter;
 import com.parallel.wordcount.ParallelGpuOptimizedCounter;
 import com.parallel.wordcount.ParallelGpuOptimizedCachedCounter;
+import com.parallel.wordcount.SearchAlgorithm;
+import com.parallel.wordcount.SearcherParallelCpuCounter;
+import com.parallel.wordcount.SearcherSerialCpuCounter;
 import com.parallel.wordcount.SerialCpuCounter;
+import com.parallel.wordcount.StreamingGpuCounter;
 import com.parallel.wordcount.TextLoader;
+import com.parallel.wordcount.TiledGpuCounter;
+import com.parallel.wordcount.VectorizedCpuCounter;
+import com.parallel.wordcount.VectorizedParallelCpuCounter;
 import com.parallel.wordcount.WordCountResult;
 
+import java.nio.file.Files;
 import java.nio.file.Path;
+import java.nio.file.Paths;
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
 import java.util.concurrent.atomic.AtomicBoolean;
@@ -30,9 +52,35 @@ public class UiBenchmarkExecutor {
 
     private final List<WordCountResult> history = Collections.synchronizedList(new ArrayList<>());
     private final SerialCpuCounter serial = new SerialCpuCounter();
+    private final FoldingSerialCpuCounter serialFold = new FoldingSerialCpuCounter();
+    private final VectorizedCpuCounter vector = new VectorizedCpuCounter();
     private final ParallelGpuCounter gpu = new ParallelGpuCounter();
     private final ParallelGpuOptimizedCounter gpuOpt = new ParallelGpuOptimizedCounter();
     private final ParallelGpuOptimizedCachedCounter gpuOptCached = new ParallelGpuOptimizedCachedCounter();
+    private final StreamingGpuCounter gpuStream = new StreamingGpuCounter();
+    private final TiledGpuCounter gpuTiled = new TiledGpuCounter(TiledGpuCounter.Variant.TILED);
+    private final TiledGpuCounter gpuVec16 = new TiledGpuCounter(TiledGpuCounter.Variant.VECTOR);
+    /**
+     * Mantem as fracoes por dispositivo aprendidas entre cliques.
+     */
+    private final MultiDeviceGpuCounter gpuMultiDevice = new MultiDeviceGpuCounter();
+    /**
+     * Pools reutilizados entre cliques e datasets enquanto a janela estiver aberta.
+     */
+    private final CpuPoolRegistry pools = new CpuPoolRegistry(true, true);
+    /**
+     * Consultas fora do benchmark: cliques repetidos com o mesmo dataset e palavra saem do cache.
+     */
+    private final CachedCountService queries = new CachedCountService(
+            new ParallelCpuCounter(Runtime.getRuntime().availableProcessors()), new CountCache());
+    /**
+     * Auto calibrado sob demanda no primeiro uso, um por quantidade de threads.
+     */
+    private final Map<Integer, AutoCounter> autoCounters = new ConcurrentHashMap<>();
+    /**
+     * Contadores hibridos por quantidade de threads, mantendo a divisao CPU/GPU aprendida entre cliques.
+     */
+    private final Map<Integer, HybridCpuGpuCounter> hybrids = new ConcurrentHashMap<>();
     private final AtomicBoolean running = new AtomicBoolean(false);
 
     public boolean isRunning() {
@@ -63,6 +111,41 @@ public class UiBenchmarkExecutor {
         }
     }
 
+    /**
+     * Conta a palavra em cada dataset (arquivos apenas) pelo caminho com cache, sem registrar no historico.
+     */
+    public void query(List<Path> datasets,
+                      String word,
+                      Consumer<String> statusConsumer,
+                      Runnable onFinish) {
+        if (running.compareAndSet(false, true)) {
+            executor.submit(() -> {
+                try {
+                    long total = 0;
+                    StringBuilder summary = new StringBuilder();
+                    for (Path dataset : datasets) {
+                        if (Files.isDirectory(dataset)) {
+                            continue;
+                        }
+                        WordCountResult res = queries.query(dataset, word);
+                        total += res.occurrences();
+                        summary.append(res.dataset()).append('=').append(res.occurrences())
+                                .append(" (").append(res.details().startsWith("cache=hit") ? "cache" : "contado").append(") ");
+                    }
+                    statusConsumer.accept(String.format("Consulta '%s': %d ocorrencias | %s| %s",
+                            word, total, summary, queries.stats()));
+                } catch (Exception e) {
+                    statusConsumer.accept("Falha na consulta: " + e.getMessage());
+                } finally {
+                    running.set(false);
+                    onFinish.run();
+                }
+            });
+        } else {
+            statusConsumer.accept("Ja existe uma execucao em andamento.");
+        }
+    }
+
     private void runBenchmarks(UiConfig config,
                                Consumer<String> statusConsumer,
                                Consumer<WordCountResult> resultConsumer) {
@@ -70,6 +153,10 @@ public class UiBenchmarkExecutor {
             throw new IllegalArgumentException("Informe uma palavra alvo.");
         }
         for (Path dataset : config.datasets()) {
+            if (Files.isDirectory(dataset)) {
+                runCorpus(dataset, config, statusConsumer, resultConsumer);
+                continue;
+            }
             String datasetName = dataset.getFileName().toString();
             String text;
             try {
@@ -102,11 +189,86 @@ public class UiBenchmarkExecutor {
                         }
                     }
                 }
+                if (config.includeFolding()) {
+                    register(serialFold.count(datasetName, text, config.word()), resultConsumer);
+                    for (Integer threads : config.threads()) {
+                        if (threads == null || threads < 1) {
+                            continue;
+                        }
+                        try {
+                            WordCountResult res = new FoldingParallelCpuCounter(threads).count(datasetName, text, config.word());
+                            register(res, resultConsumer);
+                        } catch (Exception e) {
+                            statusConsumer.accept("CPU Fold (" + threads + "): erro " + e.getMessage());
+                        }
+                    }
+                }
+                if (config.includeVector()) {
+                    if (!VectorizedCpuCounter.isSupported()) {
+                        statusConsumer.accept("Vector API indisponivel: inicie com --add-modules jdk.incubator.vector");
+                    } else {
+                        register(vector.count(datasetName, text, config.word()), resultConsumer);
+                        for (Integer threads : config.threads()) {
+                            if (threads == null || threads < 1) {
+                                continue;
+                            }
+                            try {
+                                WordCountResult res = new VectorizedParallelCpuCounter(threads).count(datasetName, text, config.word());
+                                register(res, resultConsumer);
+                            } catch (Exception e) {
+                                statusConsumer.accept("CPU Vector (" + threads + "): erro " + e.getMessage());
+                            }
+                        }
+                    }
+                }
+                if (config.includeForkJoin()) {
+                    for (Integer threads : config.threads()) {
+                        if (threads == null || threads < 1) {
+                            continue;
+                        }
+                        register(new ForkJoinCpuCounter(threads).count(datasetName, text, config.word()), resultConsumer);
+                    }
+                }
+                if (config.includePooled()) {
+                    for (Integer threads : config.threads()) {
+                        if (threads == null || threads < 1) {
+                            continue;
+                        }
+                        try {
+                            register(pools.forThreads(threads).count(datasetName, text, config.word()), resultConsumer);
+                        } catch (Exception e) {
+                            statusConsumer.accept("CPU Pooled (" + threads + "): erro " + e.getMessage());
+                        }
+                    }
+                }
+                if (config.includeAuto()) {
+                    int threads = Collections.max(config.threads());
+                    try {
+                        register(autoFor(threads, statusConsumer).count(datasetName, text, config.word()), resultConsumer);
+                    } catch (Exception e) {
+                        statusConsumer.accept("Auto (" + threads + "): erro " + e.getMessage());
+                    }
+                }
+                for (SearchAlgorithm algorithm : config.algorithms()) {
+                    register(new SearcherSerialCpuCounter(algorithm).count(datasetName, text, config.word()), resultConsumer);
+                    for (Integer threads : config.threads()) {
+                        if (threads == null || threads < 1) {
+                            continue;
+                        }
+                        try {
+                            WordCountResult res = new SearcherParallelCpuCounter(algorithm, threads)
+                                    .count(datasetName, text, config.word());
+                            register(res, resultConsumer);
+                        } catch (Exception e) {
+                            statusConsumer.accept(algorithm.label() + " (" + threads + "): erro " + e.getMessage());
+                        }
+                    }
+                }
                 if (config.includeGpu()) {
                     try {
                         WordCountResult res = gpu.count(datasetName, text, config.word());
                         register(res, resultConsumer);
-                    } catch (Exception e) {
+                    } catch (Exception | LinkageError e) {
                         statusConsumer.accept("GPU indisponivel: " + e.getMessage());
                     }
                 }
@@ -114,7 +276,7 @@ public class UiBenchmarkExecutor {
                     try {
                         WordCountResult res = gpuOpt.count(datasetName, text, config.word());
                         register(res, resultConsumer);
-                    } catch (Exception e) {
+                    } catch (Exception | LinkageError e) {
                         statusConsumer.accept("GPU Opt indisponivel: " + e.getMessage());
                     }
                 }
@@ -122,14 +284,91 @@ public class UiBenchmarkExecutor {
                     try {
                         WordCountResult res = gpuOptCached.count(datasetName, text, config.word());
                         register(res, resultConsumer);
-                    } catch (Exception e) {
+                    } catch (Exception | LinkageError e) {
                         statusConsumer.accept("GPU Opt Cached indisponivel: " + e.getMessage());
                     }
                 }
+                if (config.includeGpuStream()) {
+                    try {
+                        WordCountResult res = gpuStream.count(datasetName, text, config.word());
+                        register(res, resultConsumer);
+                    } catch (Exception | LinkageError e) {
+                        statusConsumer.accept("GPU Stream indisponivel: " + e.getMessage());
+                    }
+                }
+                if (config.includeGpuTiled()) {
+                    for (TiledGpuCounter tiled : List.of(gpuTiled, gpuVec16)) {
+                        try {
+                            register(tiled.count(datasetName, text, config.word()), resultConsumer);
+                        } catch (Exception | LinkageError e) {
+                            statusConsumer.accept(tiled.name() + " indisponivel: " + e.getMessage());
+                        }
+                    }
+                }
+                if (config.includeGpuMultiDevice()) {
+                    try {
+                        register(gpuMultiDevice.count(datasetName, text, config.word()), resultConsumer);
+                    } catch (Exception | LinkageError e) {
+                        statusConsumer.accept("GPU Multi-dispositivo indisponivel: " + e.getMessage());
+                    }
+                }
+                if (config.includeHybrid()) {
+                    for (Integer threads : config.threads()) {
+                        if (threads == null || threads < 1) {
+                            continue;
+                        }
+                        try {
+                            HybridCpuGpuCounter hybrid = hybrids.computeIfAbsent(threads, HybridCpuGpuCounter::new);
+                            register(hybrid.count(datasetName, text, config.word()), resultConsumer);
+                        } catch (Exception | LinkageError e) {
+                            statusConsumer.accept("Hybrid CPU+GPU (" + threads + ") indisponivel: " + e.getMessage());
+                        }
+                    }
+                }
             }
         }
     }
 
+    /**
+     * Diretorios na lista de datasets rodam em modo corpus: uma tarefa por arquivo, virtual threads vs plataforma.
+     * Apenas o total por diretorio entra no grafico/tabela.
+     */
+    private void runCorpus(Path root,
+                           UiConfig config,
+                           Consumer<String> statusConsumer,
+                           Consumer<WordCountResult> resultConsumer) {
+        List<CorpusCounter> counters = new ArrayList<>();
+        if (CorpusCounter.isVirtualThreadsSupported()) {
+            counters.add(new CorpusCounter(CorpusCounter.Mode.VIRTUAL, CorpusCounter.DEFAULT_CONCURRENCY));
+        } else {
+            statusConsumer.accept("CorpusVirtual indisponivel: virtual threads exigem Java 21+");
+        }
+        counters.add(new CorpusCounter(CorpusCounter.Mode.PLATFORM, CorpusCounter.DEFAULT_CONCURRENCY));
+        for (int run = 1; run <= config.runs(); run++) {
+            statusConsumer.accept(String.format("Amostra %d/%d - corpus %s", run, config.runs(), root.getFileName()));
+            for (CorpusCounter counter : counters) {
+                try {
+                    CorpusCountResult res = counter.count(root, config.word());
+                    register(res.total(), resultConsumer);
+                } catch (Exception e) {
+                    statusConsumer.accept(counter.name() + ": erro " + e.getMessage());
+                }
+            }
+        }
+    }
+
+    private AutoCounter autoFor(int threads, Consumer<String> statusConsumer) throws Exception {
+        AutoCounter auto = autoCounters.get(threads);
+        if (auto == null) {
+            statusConsumer.accept("Auto: calibrando estrategias para " + threads + " threads...");
+            // Um perfil por quantidade de threads: a assinatura inclui threads=, entao um arquivo unico seria
+            // recalibrado e sobrescrito sempre que a lista de threads mudasse.
+            auto = new AutoCounter(threads, Paths.get("results", "auto_profile_" + threads + "t.properties"), true);
+            autoCounters.put(threads, auto);
+        }
+        return auto;
+    }
+
     private void register(WordCountResult res, Consumer<WordCountResult> consumer) {
         history.add(res);
         consumer.accept(res);
@@ -149,5 +388,6 @@ public class UiBenchmarkExecutor {
 
     public void shutdown() {
         executor.shutdownNow();
+        pools.close();
     }
 }
@@ -1,5 +1,7 @@
 package com.parallel.wordcount.ui;
 
+import com.parallel.wordcount.SearchAlgorithm;
+
 import java.nio.file.Path;
 import java.util.ArrayList;
 import java.util.Collections;
@@ -14,16 +16,27 @@ public record UiConfig(
         String word,
         int runs,
         List<Integer> threads,
+        List<SearchAlgorithm> algorithms,
         boolean includeSerial,
         boolean includeCpu,
+        boolean includeFolding,
+        boolean includeVector,
+        boolean includeForkJoin,
+        boolean includePooled,
+        boolean includeAuto,
         boolean includeGpu,
         boolean includeGpuOpt,
-        boolean includeGpuOptCached) {
+        boolean includeGpuOptCached,
+        boolean includeGpuStream,
+        boolean includeGpuTiled,
+        boolean includeGpuMultiDevice,
+        boolean includeHybrid) {
 
     public UiConfig {
         Objects.requireNonNull(datasets, "datasets");
         Objects.requireNonNull(word, "word");
         Objects.requireNonNull(threads, "threads");
+        Objects.requireNonNull(algorithms, "algorithms");
     }
 
     /**
@@ -41,7 +54,8 @@ public record UiConfig(
                 last = v;
             }
         }
-        return new UiConfig(ds, word.trim(), runs, List.copyOf(deduped),
-                includeSerial, includeCpu, includeGpu, includeGpuOpt, includeGpuOptCached);
+        List<SearchAlgorithm> algs = algorithms.stream().distinct().toList();
+        return new UiConfig(ds, word.trim(), runs, List.copyOf(deduped), algs,
+                includeSerial, includeCpu, includeFolding, includeVector, includeForkJoin, includePooled, includeAuto, includeGpu, includeGpuOpt, includeGpuOptCached, includeGpuStream, includeGpuTiled, includeGpuMultiDevice, includeHybrid);
     }
 }
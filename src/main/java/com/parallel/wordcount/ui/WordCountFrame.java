@@ -2,6 +2,8 @@ package com.parallel.wordcount.ui;
 
 import com.parallel.wordcount.ChartGenerator;
 import com.parallel.wordcount.CsvExporter;
+import com.parallel.wordcount.SearchAlgorithm;
+import com.parallel.wordcount.VectorizedCpuCounter;
 import com.parallel.wordcount.WordCountResult;
 
 import javax.swing.BorderFactory;
@@ -48,14 +50,25 @@ public class WordCountFrame extends JFrame {
     private JTextField wordField;
     private JSpinner runsSpinner;
     private JTextField threadsField;
+    private JTextField algorithmsField;
     private JCheckBox serialBox;
     private JCheckBox cpuBox;
+    private JCheckBox foldingBox;
+    private JCheckBox vectorBox;
+    private JCheckBox forkJoinBox;
+    private JCheckBox pooledBox;
+    private JCheckBox autoBox;
     private JCheckBox gpuBox;
     private JCheckBox gpuOptBox;
     private JCheckBox gpuOptCachedBox;
+    private JCheckBox gpuStreamBox;
+    private JCheckBox gpuTiledBox;
+    private JCheckBox gpuMultiDeviceBox;
+    private JCheckBox hybridBox;
     private JButton runButton;
     private JButton exportButton;
     private JButton clearButton;
+    private JButton queryButton;
     private JLabel statusLabel;
 
     public WordCountFrame(UiBenchmarkExecutor executor) {
@@ -107,25 +120,39 @@ public class WordCountFrame extends JFrame {
         wordField = new JTextField("paralelismo", 16);
         runsSpinner = new JSpinner(new SpinnerNumberModel(3, 1, 50, 1));
         threadsField = new JTextField("2,4", 10);
+        algorithmsField = new JTextField("", 10);
+        algorithmsField.setToolTipText("indexof, horspool, raita, two-way");
 
         serialBox = new JCheckBox("Serial", true);
         cpuBox = new JCheckBox("Parallel CPU", true);
+        foldingBox = new JCheckBox("Serial + Parallel CPU (case folding, sem copia)", true);
+        vectorBox = new JCheckBox("Serial + Parallel CPU (SIMD, Vector API)", VectorizedCpuCounter.isSupported());
+        forkJoinBox = new JCheckBox("Fork/Join CPU (work stealing)", true);
+        pooledBox = new JCheckBox("Parallel CPU (pool persistente)", true);
+        autoBox = new JCheckBox("Auto (escolhe a estrategia calibrada mais rapida)", true);
         gpuBox = new JCheckBox("Parallel GPU", true);
         gpuOptBox = new JCheckBox("Parallel GPU Optimized", true);
         gpuOptCachedBox = new JCheckBox("Parallel GPU Optimized (cached text)", true);
+        gpuStreamBox = new JCheckBox("Parallel GPU Streaming (blocos em buffer duplo)", true);
+        gpuTiledBox = new JCheckBox("Parallel GPU Tiled + Vec16 (memoria local, autotune)", true);
+        gpuMultiDeviceBox = new JCheckBox("Parallel GPU Multi-dispositivo (divisao por vazao)", true);
+        hybridBox = new JCheckBox("Hybrid CPU + GPU (divisao dinamica)", true);
 
         runButton = new JButton("Executar");
         exportButton = new JButton("Exportar CSV + Grafico");
         clearButton = new JButton("Limpar");
+        queryButton = new JButton("Consultar (cache)");
 
         runButton.addActionListener(e -> triggerRun());
         exportButton.addActionListener(e -> exportResults());
         clearButton.addActionListener(e -> clearView());
+        queryButton.addActionListener(e -> triggerQuery());
 
         int row = 0;
         addRow(panel, gbc, row++, "Palavra alvo:", wordField);
         addRow(panel, gbc, row++, "Amostras:", runsSpinner);
         addRow(panel, gbc, row++, "Threads CPU (lista):", threadsField);
+        addRow(panel, gbc, row++, "Algoritmos de busca (lista):", algorithmsField);
 
         gbc.gridx = 0;
         gbc.gridy = row;
@@ -134,22 +161,41 @@ public class WordCountFrame extends JFrame {
         gbc.gridy = row + 1;
         panel.add(cpuBox, gbc);
         gbc.gridy = row + 2;
-        panel.add(gpuBox, gbc);
+        panel.add(foldingBox, gbc);
         gbc.gridy = row + 3;
-        panel.add(gpuOptBox, gbc);
+        panel.add(vectorBox, gbc);
         gbc.gridy = row + 4;
-        panel.add(gpuOptCachedBox, gbc);
-
+        panel.add(forkJoinBox, gbc);
         gbc.gridy = row + 5;
+        panel.add(pooledBox, gbc);
+        gbc.gridy = row + 6;
+        panel.add(autoBox, gbc);
+        gbc.gridy = row + 7;
+        panel.add(gpuBox, gbc);
+        gbc.gridy = row + 8;
+        panel.add(gpuOptBox, gbc);
+        gbc.gridy = row + 9;
+        panel.add(gpuOptCachedBox, gbc);
+        gbc.gridy = row + 10;
+        panel.add(gpuStreamBox, gbc);
+        gbc.gridy = row + 11;
+        panel.add(gpuTiledBox, gbc);
+        gbc.gridy = row + 12;
+        panel.add(gpuMultiDeviceBox, gbc);
+        gbc.gridy = row + 13;
+        panel.add(hybridBox, gbc);
+
+        gbc.gridy = row + 14;
         gbc.gridwidth = 1;
         panel.add(runButton, gbc);
         gbc.gridx = 1;
         panel.add(exportButton, gbc);
 
         gbc.gridx = 0;
-        gbc.gridy = row + 6;
-        gbc.gridwidth = 2;
+        gbc.gridy = row + 15;
         panel.add(clearButton, gbc);
+        gbc.gridx = 1;
+        panel.add(queryButton, gbc);
 
         return panel;
     }
@@ -233,6 +279,21 @@ public class WordCountFrame extends JFrame {
         );
     }
 
+    private void triggerQuery() {
+        String word = wordField.getText().trim();
+        if (word.isEmpty()) {
+            updateStatus("Informe uma palavra alvo.");
+            return;
+        }
+        List<Path> datasets = new ArrayList<>();
+        for (int i = 0; i < datasetModel.size(); i++) {
+            datasets.add(datasetModel.get(i));
+        }
+        setControlsEnabled(false);
+        executor.query(datasets, word, this::updateStatus,
+                () -> SwingUtilities.invokeLater(() -> setControlsEnabled(true)));
+    }
+
     private UiConfig buildConfig() {
         String word = wordField.getText().trim();
         if (word.isEmpty()) {
@@ -251,7 +312,17 @@ public class WordCountFrame extends JFrame {
 
         int runs = ((Number) runsSpinner.getValue()).intValue();
         List<Integer> threads = parseThreads(threadsField.getText());
-        if (cpuBox.isSelected() && threads.isEmpty()) {
+        List<SearchAlgorithm> algorithms;
+        try {
+            algorithms = parseAlgorithms(algorithmsField.getText());
+        } catch (IllegalArgumentException e) {
+            updateStatus(e.getMessage());
+            return null;
+        }
+        boolean needsThreads = cpuBox.isSelected() || foldingBox.isSelected() || vectorBox.isSelected()
+                || forkJoinBox.isSelected() || pooledBox.isSelected() || autoBox.isSelected() || hybridBox.isSelected()
+                || !algorithms.isEmpty();
+        if (needsThreads && threads.isEmpty()) {
             updateStatus("Informe ao menos um valor de threads para Parallel CPU.");
             return null;
         }
@@ -261,11 +332,21 @@ public class WordCountFrame extends JFrame {
                 word,
                 runs,
                 threads,
+                algorithms,
                 serialBox.isSelected(),
                 cpuBox.isSelected(),
+                foldingBox.isSelected(),
+                vectorBox.isSelected(),
+                forkJoinBox.isSelected(),
+                pooledBox.isSelected(),
+                autoBox.isSelected(),
                 gpuBox.isSelected(),
                 gpuOptBox.isSelected(),
-                gpuOptCachedBox.isSelected()
+                gpuOptCachedBox.isSelected(),
+                gpuStreamBox.isSelected(),
+                gpuTiledBox.isSelected(),
+                gpuMultiDeviceBox.isSelected(),
+                hybridBox.isSelected()
         );
     }
 
@@ -291,6 +372,22 @@ public class WordCountFrame extends JFrame {
         return values;
     }
 
+    private List<SearchAlgorithm> parseAlgorithms(String text) {
+        List<SearchAlgorithm> values = new ArrayList<>();
+        if (text == null || text.isBlank()) {
+            return values;
+        }
+        for (String p : text.split(",")) {
+            String trimmed = p.trim();
+            if (trimmed.isEmpty()) continue;
+            SearchAlgorithm algorithm = SearchAlgorithm.fromLabel(trimmed);
+            if (!values.contains(algorithm)) {
+                values.add(algorithm);
+            }
+        }
+        return values;
+    }
+
     private void handleResult(WordCountResult result) {
         SwingUtilities.invokeLater(() -> {
             chartPanel.registerResult(result);
@@ -303,8 +400,10 @@ public class WordCountFrame extends JFrame {
         String threads = result.threads() != null ? result.threads() + "t" : "";
         String device = result.deviceType() != null ? result.deviceType() : "";
         String suffix = (!threads.isEmpty() ? " | " + threads : "") + (!device.isEmpty() ? " | " + device : "");
-        return String.format("%s | %s%s | %d ocorrencias | %d ms",
-                result.dataset(), result.method(), suffix, result.occurrences(), result.durationMillis());
+        String details = (result.phases() != null ? " | " + result.phases().describe() : "")
+                + (result.details() != null ? " | " + result.details() : "");
+        return String.format("%s | %s%s | %d ocorrencias | %.3f ms%s",
+                result.dataset(), result.method(), suffix, result.occurrences(), result.durationNanos() / 1_000_000.0, details);
     }
 
     private void updateStatus(String message) {
@@ -340,12 +439,14 @@ public class WordCountFrame extends JFrame {
         runButton.setEnabled(enabled);
         exportButton.setEnabled(enabled);
         clearButton.setEnabled(enabled);
+        queryButton.setEnabled(enabled);
     }
 
     private void chooseDatasets() {
         JFileChooser chooser = new JFileChooser();
         chooser.setMultiSelectionEnabled(true);
-        chooser.setFileSelectionMode(JFileChooser.FILES_ONLY);
+        // Diretorios sao aceitos e executados em modo corpus (um arquivo por tarefa).
+        chooser.setFileSelectionMode(JFileChooser.FILES_AND_DIRECTORIES);
         int result = chooser.showOpenDialog(this);
         if (result == JFileChooser.APPROVE_OPTION) {
             for (var file : chooser.getSelectedFiles()) {